@@ -0,0 +1,34 @@
+package org.cryptimeleon.craco.accumulator;
+
+import org.cryptimeleon.math.serialization.Representable;
+
+/**
+ * Maintains the digest of a changing set under single insertions and deletions,
+ * as created by {@link AccumulatorScheme#createDigestUpdater(java.util.Collection)}.
+ * <p>
+ * Implementations may keep scheme-specific state (e.g. the coefficients of a polynomial) to compute the new digest
+ * faster than {@link AccumulatorScheme#createDigest(java.util.Collection)} on the whole set.
+ *
+ * @param <AccumulatedType> the type of values accumulated by the scheme
+ */
+public interface AccumulatorDigestUpdater<AccumulatedType extends Representable> {
+
+    /**
+     * Returns the digest of the current set.
+     */
+    AccumulatorDigest getDigest();
+
+    /**
+     * Adds {@code value} (which must not be in the current set) to the set.
+     *
+     * @return the digest of the new set
+     */
+    AccumulatorDigest insert(AccumulatedType value);
+
+    /**
+     * Removes {@code value} (which must be in the current set) from the set.
+     *
+     * @return the digest of the new set
+     */
+    AccumulatorDigest delete(AccumulatedType value);
+}
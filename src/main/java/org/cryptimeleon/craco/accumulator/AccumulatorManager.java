@@ -0,0 +1,365 @@
+package org.cryptimeleon.craco.accumulator;
+
+import org.cryptimeleon.math.serialization.BigIntegerRepresentation;
+import org.cryptimeleon.math.serialization.ListRepresentation;
+import org.cryptimeleon.math.serialization.ObjectRepresentation;
+import org.cryptimeleon.math.serialization.Representable;
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.serialization.converter.JSONConverter;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Stateful wrapper around an {@link AccumulatorScheme} that keeps track of the current accumulated set, its digest
+ * and an up-to-date witness for every member.
+ * <p>
+ * Changes are applied in batches via {@link #update(Collection, Collection)}. Every batch starts a new epoch.
+ * Witnesses are maintained incrementally using
+ * {@link AccumulatorScheme#updateWitnessAfterInsert(AccumulatorDigest, AccumulatorDigest, Collection, Representable, Representable, AccumulatorWitness)}
+ * and {@link AccumulatorScheme#updateWitnessAfterDelete(AccumulatorDigest, AccumulatorDigest, Collection, Representable, Representable, AccumulatorWitness)},
+ * so callers no longer need to keep copies of the accumulated set around.
+ * The digest itself is maintained via {@link AccumulatorScheme#createDigestUpdater(Collection)}, so a scheme can compute
+ * the intermediate digest after each single change without starting from the whole set.
+ * Retrieving the witness of a member via {@link #getWitness(Representable)} is a simple lookup.
+ * <p>
+ * The complete state can be persisted using {@link #getRepresentation()} or {@link #writeSnapshot(Path)}
+ * and restored using {@link #AccumulatorManager(AccumulatorScheme, Representation)} or
+ * {@link #readSnapshot(AccumulatorScheme, Path)}.
+ * <p>
+ * All public methods are synchronized, so a single instance can be shared between a thread applying updates
+ * and threads serving witnesses.
+ *
+ * @param <AccumulatedType> the type of values accumulated by the underlying scheme
+ */
+public class AccumulatorManager<AccumulatedType extends Representable> implements Representable {
+
+    private final AccumulatorScheme<AccumulatedType> scheme;
+
+    /**
+     * The currently accumulated values, in insertion order.
+     */
+    private final Set<AccumulatedType> accumulatedValues = new LinkedHashSet<>();
+
+    /**
+     * Maps each currently accumulated value to its witness w.r.t. {@link #digest}.
+     */
+    private final Map<AccumulatedType, AccumulatorWitness> witnesses = new HashMap<>();
+
+    /**
+     * One entry per applied batch, in order of increasing epoch.
+     */
+    private final List<EpochLogEntry<AccumulatedType>> epochLog = new ArrayList<>();
+
+    private AccumulatorDigest digest;
+
+    /**
+     * Maintains {@link #digest} for {@link #accumulatedValues}.
+     */
+    private final AccumulatorDigestUpdater<AccumulatedType> digestUpdater;
+
+    private long epoch;
+
+    /**
+     * Creates a manager for the empty set at epoch 0.
+     */
+    public AccumulatorManager(AccumulatorScheme<AccumulatedType> scheme) {
+        this(scheme, Collections.emptyList());
+    }
+
+    /**
+     * Creates a manager for the given initial set at epoch 0.
+     * Witnesses for the initial values are computed from scratch.
+     */
+    public AccumulatorManager(AccumulatorScheme<AccumulatedType> scheme, Collection<? extends AccumulatedType> initialValues) {
+        this.scheme = scheme;
+        this.accumulatedValues.addAll(initialValues);
+        this.digestUpdater = scheme.createDigestUpdater(accumulatedValues);
+        this.digest = digestUpdater.getDigest();
+        for (AccumulatedType value : accumulatedValues) {
+            witnesses.put(value, scheme.createWitness(digest, accumulatedValues, value));
+        }
+        this.epoch = 0;
+    }
+
+    /**
+     * Restores a manager from a representation obtained via {@link #getRepresentation()}.
+     */
+    public AccumulatorManager(AccumulatorScheme<AccumulatedType> scheme, Representation repr) {
+        this.scheme = scheme;
+        ObjectRepresentation objRepr = repr.obj();
+        this.epoch = objRepr.get("epoch").bigInt().get().longValueExact();
+        this.digest = scheme.restoreDigest(objRepr.get("digest"));
+
+        ListRepresentation values = objRepr.get("values").list();
+        ListRepresentation witnessReprs = objRepr.get("witnesses").list();
+        if (values.size() != witnessReprs.size()) {
+            throw new IllegalArgumentException("Number of values and witnesses in snapshot do not match");
+        }
+        for (int i = 0; i < values.size(); i++) {
+            AccumulatedType value = scheme.restoreAccumulatedValue(values.get(i));
+            accumulatedValues.add(value);
+            witnesses.put(value, scheme.restoreWitness(witnessReprs.get(i)));
+        }
+
+        for (Representation entryRepr : objRepr.get("log").list()) {
+            epochLog.add(new EpochLogEntry<>(scheme, entryRepr));
+        }
+
+        this.digestUpdater = scheme.createDigestUpdater(accumulatedValues);
+        if (!digestUpdater.getDigest().equals(digest)) {
+            throw new IllegalArgumentException("Digest in snapshot does not match the accumulated values");
+        }
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeSnapshot(Path)}.
+     *
+     * @param scheme the scheme the snapshot was created with
+     * @param file the snapshot file
+     */
+    public static <T extends Representable> AccumulatorManager<T> readSnapshot(AccumulatorScheme<T> scheme, Path file)
+            throws IOException {
+        String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        return new AccumulatorManager<>(scheme, new JSONConverter().deserialize(json));
+    }
+
+    /**
+     * Writes the current state to the given file.
+     * The snapshot is first written to a temporary file next to {@code file} and then moved into place,
+     * so an existing snapshot is never left half-written.
+     */
+    public synchronized void writeSnapshot(Path file) throws IOException {
+        byte[] serialized = new JSONConverter().serialize(getRepresentation()).getBytes(StandardCharsets.UTF_8);
+        Path absolute = file.toAbsolutePath();
+        Path tmp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, serialized);
+            Files.move(tmp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Inserts the given values as a single batch.
+     *
+     * @return the new epoch
+     * @see #update(Collection, Collection)
+     */
+    public long insert(Collection<? extends AccumulatedType> valuesToInsert) {
+        return update(valuesToInsert, Collections.emptyList());
+    }
+
+    /**
+     * Deletes the given values as a single batch.
+     *
+     * @return the new epoch
+     * @see #update(Collection, Collection)
+     */
+    public long delete(Collection<? extends AccumulatedType> valuesToDelete) {
+        return update(Collections.emptyList(), valuesToDelete);
+    }
+
+    /**
+     * Applies a batch of changes, first deleting {@code valuesToDelete} and then inserting {@code valuesToInsert}.
+     * The digest and all witnesses of remaining members are updated incrementally and a new epoch is started.
+     *
+     * @param valuesToInsert values to add, must not currently be accumulated
+     * @param valuesToDelete values to remove, must currently be accumulated
+     * @return the new epoch
+     * @throws IllegalArgumentException if a value to insert is already accumulated, a value to delete is not
+     *                                  accumulated, or the new set exceeds {@link AccumulatorScheme#getMaxNumAccumulatedValues()}
+     */
+    public synchronized long update(Collection<? extends AccumulatedType> valuesToInsert,
+                                    Collection<? extends AccumulatedType> valuesToDelete) {
+        Set<AccumulatedType> inserts = new LinkedHashSet<>(valuesToInsert);
+        Set<AccumulatedType> deletes = new LinkedHashSet<>(valuesToDelete);
+        for (AccumulatedType value : deletes) {
+            if (!accumulatedValues.contains(value)) {
+                throw new IllegalArgumentException("Cannot delete value that is not accumulated: " + value);
+            }
+        }
+        for (AccumulatedType value : inserts) {
+            if (accumulatedValues.contains(value) && !deletes.contains(value)) {
+                throw new IllegalArgumentException("Cannot insert value that is already accumulated: " + value);
+            }
+        }
+        Integer max = scheme.getMaxNumAccumulatedValues();
+        if (max != null && accumulatedValues.size() - deletes.size() + inserts.size() > max) {
+            throw new IllegalArgumentException("Too many values for this accumulator.");
+        }
+
+        Set<AccumulatedType> readOnlyValues = Collections.unmodifiableSet(accumulatedValues);
+        for (AccumulatedType deleted : deletes) {
+            AccumulatorDigest oldDigest = digest;
+            accumulatedValues.remove(deleted);
+            witnesses.remove(deleted);
+            digest = digestUpdater.delete(deleted);
+            AccumulatorDigest newDigest = digest;
+            witnesses.replaceAll((value, witness) ->
+                    scheme.updateWitnessAfterDelete(oldDigest, newDigest, readOnlyValues, deleted, value, witness));
+        }
+        for (AccumulatedType inserted : inserts) {
+            AccumulatorDigest oldDigest = digest;
+            accumulatedValues.add(inserted);
+            digest = digestUpdater.insert(inserted);
+            AccumulatorDigest newDigest = digest;
+            witnesses.replaceAll((value, witness) ->
+                    scheme.updateWitnessAfterInsert(oldDigest, newDigest, readOnlyValues, inserted, value, witness));
+            witnesses.put(inserted, scheme.createWitnessForInsertedValue(oldDigest, newDigest, readOnlyValues, inserted));
+        }
+
+        epoch++;
+        epochLog.add(new EpochLogEntry<>(epoch, digest, new ArrayList<>(inserts), new ArrayList<>(deletes)));
+        return epoch;
+    }
+
+    /**
+     * Returns the witness for the given value w.r.t. the current digest.
+     *
+     * @throws NoSuchElementException if the value is not accumulated
+     */
+    public synchronized AccumulatorWitness getWitness(AccumulatedType value) {
+        AccumulatorWitness witness = witnesses.get(value);
+        if (witness == null) {
+            throw new NoSuchElementException("Value is not accumulated: " + value);
+        }
+        return witness;
+    }
+
+    public synchronized boolean contains(AccumulatedType value) {
+        return witnesses.containsKey(value);
+    }
+
+    public synchronized AccumulatorDigest getDigest() {
+        return digest;
+    }
+
+    public synchronized long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns a copy of the currently accumulated set.
+     */
+    public synchronized Set<AccumulatedType> getAccumulatedValues() {
+        return new LinkedHashSet<>(accumulatedValues);
+    }
+
+    /**
+     * Returns all log entries of epochs strictly after {@code sinceEpoch}, in increasing order.
+     */
+    public synchronized List<EpochLogEntry<AccumulatedType>> getEpochLog(long sinceEpoch) {
+        return epochLog.stream().filter(entry -> entry.getEpoch() > sinceEpoch).collect(Collectors.toList());
+    }
+
+    /**
+     * Removes all log entries up to and including {@code upToEpoch} to bound memory usage of long-running instances.
+     */
+    public synchronized void pruneEpochLog(long upToEpoch) {
+        epochLog.removeIf(entry -> entry.getEpoch() <= upToEpoch);
+    }
+
+    public AccumulatorScheme<AccumulatedType> getScheme() {
+        return scheme;
+    }
+
+    @Override
+    public synchronized Representation getRepresentation() {
+        ObjectRepresentation repr = new ObjectRepresentation();
+        repr.put("epoch", new BigIntegerRepresentation(BigInteger.valueOf(epoch)));
+        repr.put("digest", digest.getRepresentation());
+        ListRepresentation values = new ListRepresentation();
+        ListRepresentation witnessReprs = new ListRepresentation();
+        for (AccumulatedType value : accumulatedValues) {
+            values.put(value.getRepresentation());
+            witnessReprs.put(witnesses.get(value).getRepresentation());
+        }
+        repr.put("values", values);
+        repr.put("witnesses", witnessReprs);
+        ListRepresentation log = new ListRepresentation();
+        epochLog.forEach(entry -> log.put(entry.getRepresentation()));
+        repr.put("log", log);
+        return repr;
+    }
+
+    /**
+     * Records the changes applied in a single epoch and the digest resulting from them.
+     */
+    public static class EpochLogEntry<AccumulatedType extends Representable> implements Representable {
+        private final long epoch;
+        private final AccumulatorDigest digest;
+        private final List<AccumulatedType> insertedValues;
+        private final List<AccumulatedType> deletedValues;
+
+        public EpochLogEntry(long epoch, AccumulatorDigest digest, List<AccumulatedType> insertedValues,
+                             List<AccumulatedType> deletedValues) {
+            this.epoch = epoch;
+            this.digest = digest;
+            this.insertedValues = Collections.unmodifiableList(insertedValues);
+            this.deletedValues = Collections.unmodifiableList(deletedValues);
+        }
+
+        public EpochLogEntry(AccumulatorScheme<AccumulatedType> scheme, Representation repr) {
+            ObjectRepresentation objRepr = repr.obj();
+            this.epoch = objRepr.get("epoch").bigInt().get().longValueExact();
+            this.digest = scheme.restoreDigest(objRepr.get("digest"));
+            this.insertedValues = Collections.unmodifiableList(objRepr.get("inserted").list().stream()
+                    .map(scheme::restoreAccumulatedValue).collect(Collectors.toList()));
+            this.deletedValues = Collections.unmodifiableList(objRepr.get("deleted").list().stream()
+                    .map(scheme::restoreAccumulatedValue).collect(Collectors.toList()));
+        }
+
+        public long getEpoch() {
+            return epoch;
+        }
+
+        /**
+         * Returns the digest after the changes of this epoch have been applied.
+         */
+        public AccumulatorDigest getDigest() {
+            return digest;
+        }
+
+        public List<AccumulatedType> getInsertedValues() {
+            return insertedValues;
+        }
+
+        public List<AccumulatedType> getDeletedValues() {
+            return deletedValues;
+        }
+
+        @Override
+        public Representation getRepresentation() {
+            ObjectRepresentation repr = new ObjectRepresentation();
+            repr.put("epoch", new BigIntegerRepresentation(BigInteger.valueOf(epoch)));
+            repr.put("digest", digest.getRepresentation());
+            repr.put("inserted", new ListRepresentation(
+                    insertedValues.stream().map(Representable::getRepresentation).collect(Collectors.toList())));
+            repr.put("deleted", new ListRepresentation(
+                    deletedValues.stream().map(Representable::getRepresentation).collect(Collectors.toList())));
+            return repr;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            EpochLogEntry<?> that = (EpochLogEntry<?>) o;
+            return epoch == that.epoch && digest.equals(that.digest)
+                    && insertedValues.equals(that.insertedValues) && deletedValues.equals(that.deletedValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(epoch, digest);
+        }
+    }
+}
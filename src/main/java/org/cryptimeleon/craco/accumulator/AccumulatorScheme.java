@@ -9,6 +9,8 @@ import org.cryptimeleon.math.serialization.annotations.RepresentationRestorer;
 import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * An accumulator scheme is essentially a hash function that takes a set of values and creates a short digest for this set.
@@ -54,6 +56,40 @@ public interface AccumulatorScheme<AccumulatedType extends Representable> extend
         return createDigest(newValues);
     }
 
+    /**
+     * Creates an updater that maintains the digest of {@code setOfValues} under a sequence of single insertions
+     * and deletions.
+     * <p>
+     * The default implementation keeps a copy of the set and uses {@link #insert(AccumulatorDigest, Collection, Representable)}
+     * and {@link #delete(AccumulatorDigest, Collection, Representable)}.
+     * Implementations may override this to avoid recomputing the digest from the whole set for every change.
+     */
+    default AccumulatorDigestUpdater<AccumulatedType> createDigestUpdater(Collection<? extends AccumulatedType> setOfValues) {
+        Set<AccumulatedType> values = new LinkedHashSet<>(setOfValues);
+        return new AccumulatorDigestUpdater<AccumulatedType>() {
+            private AccumulatorDigest digest = createDigest(values);
+
+            @Override
+            public AccumulatorDigest getDigest() {
+                return digest;
+            }
+
+            @Override
+            public AccumulatorDigest insert(AccumulatedType value) {
+                digest = AccumulatorScheme.this.insert(digest, values, value);
+                values.add(value);
+                return digest;
+            }
+
+            @Override
+            public AccumulatorDigest delete(AccumulatedType value) {
+                digest = AccumulatorScheme.this.delete(digest, values, value);
+                values.remove(value);
+                return digest;
+            }
+        };
+    }
+
     /**
      * Updates a set membership witness with regard to accumulator changes.
      * Equivalent to recomputing a witness using {@link AccumulatorScheme#createWitness(AccumulatorDigest, Collection, Representable)},
@@ -75,6 +111,67 @@ public interface AccumulatorScheme<AccumulatedType extends Representable> extend
         return createWitness(newDigest, newAccumulatedSet, valueToComputeWitnessFor);
     }
 
+    /**
+     * Computes a witness for a value that has just been inserted into the accumulator.
+     * Equivalent to {@link AccumulatorScheme#createWitness(AccumulatorDigest, Collection, Representable)}
+     * on the new set, but implementations may derive the witness from {@code oldDigest} alone.
+     *
+     * @param oldDigest the digest before {@code insertedValue} was added
+     * @param newDigest the digest after {@code insertedValue} was added
+     * @param newAccumulatedSet the set accumulated in {@code newDigest}
+     * @param insertedValue the value that was inserted
+     * @return a witness for {@code insertedValue} being part of {@code newDigest}
+     */
+    default AccumulatorWitness createWitnessForInsertedValue(AccumulatorDigest oldDigest, AccumulatorDigest newDigest,
+                                                             Collection<? extends AccumulatedType> newAccumulatedSet,
+                                                             AccumulatedType insertedValue) {
+        return createWitness(newDigest, newAccumulatedSet, insertedValue);
+    }
+
+    /**
+     * Updates a set membership witness after a single value has been inserted into the accumulator.
+     * Same as {@link AccumulatorScheme#updateWitness(AccumulatorDigest, AccumulatorDigest, Collection, Collection, Representable, AccumulatorWitness)}
+     * for this special case, but implementations may ignore {@code newAccumulatedSet},
+     * which avoids having to compare the old and new set.
+     *
+     * @param oldDigest the digest before {@code insertedValue} was added
+     * @param newDigest the digest after {@code insertedValue} was added
+     * @param newAccumulatedSet the set accumulated in {@code newDigest}
+     * @param insertedValue the value that was inserted
+     * @param valueToComputeWitnessFor the value (present in {@code oldDigest} and in {@code newDigest})
+     *                                 for which a witness shall be computed
+     * @param oldWitnessToBeUpdated a witness for {@code valueToComputeWitnessFor} being part of {@code oldDigest}
+     * @return a witness for {@code valueToComputeWitnessFor} being part of {@code newDigest}
+     */
+    default AccumulatorWitness updateWitnessAfterInsert(AccumulatorDigest oldDigest, AccumulatorDigest newDigest,
+                                                        Collection<? extends AccumulatedType> newAccumulatedSet,
+                                                        AccumulatedType insertedValue, AccumulatedType valueToComputeWitnessFor,
+                                                        AccumulatorWitness oldWitnessToBeUpdated) {
+        return createWitness(newDigest, newAccumulatedSet, valueToComputeWitnessFor);
+    }
+
+    /**
+     * Updates a set membership witness after a single value has been deleted from the accumulator.
+     * Same as {@link AccumulatorScheme#updateWitness(AccumulatorDigest, AccumulatorDigest, Collection, Collection, Representable, AccumulatorWitness)}
+     * for this special case, but implementations may ignore {@code newAccumulatedSet},
+     * which avoids having to compare the old and new set.
+     *
+     * @param oldDigest the digest before {@code deletedValue} was removed
+     * @param newDigest the digest after {@code deletedValue} was removed
+     * @param newAccumulatedSet the set accumulated in {@code newDigest}
+     * @param deletedValue the value that was removed
+     * @param valueToComputeWitnessFor the value (present in {@code oldDigest} and in {@code newDigest})
+     *                                 for which a witness shall be computed
+     * @param oldWitnessToBeUpdated a witness for {@code valueToComputeWitnessFor} being part of {@code oldDigest}
+     * @return a witness for {@code valueToComputeWitnessFor} being part of {@code newDigest}
+     */
+    default AccumulatorWitness updateWitnessAfterDelete(AccumulatorDigest oldDigest, AccumulatorDigest newDigest,
+                                                        Collection<? extends AccumulatedType> newAccumulatedSet,
+                                                        AccumulatedType deletedValue, AccumulatedType valueToComputeWitnessFor,
+                                                        AccumulatorWitness oldWitnessToBeUpdated) {
+        return createWitness(newDigest, newAccumulatedSet, valueToComputeWitnessFor);
+    }
+
     /**
      * Returns maximum number of {@link AccumulatedType}s that can be simultaneously accumulated in the Accumulator
      * or null if unbounded.
@@ -1,6 +1,7 @@
 package org.cryptimeleon.craco.accumulator.nguyen;
 
 import org.cryptimeleon.craco.accumulator.AccumulatorDigest;
+import org.cryptimeleon.craco.accumulator.AccumulatorDigestUpdater;
 import org.cryptimeleon.craco.accumulator.AccumulatorScheme;
 import org.cryptimeleon.craco.accumulator.AccumulatorWitness;
 import org.cryptimeleon.math.hash.ByteAccumulator;
@@ -19,7 +20,9 @@ import org.cryptimeleon.math.structures.rings.cartesian.RingElementVector;
 import org.cryptimeleon.math.structures.rings.polynomial.PolynomialRing;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Stream;
 
@@ -116,6 +119,90 @@ public class NguyenAccumulatorScheme implements AccumulatorScheme<Zn.ZnElement>,
         return new NguyenDigest(computeGPowPoly(setOfValues));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Keeps the coefficients of the polynomial prod (x + x_i) and updates them in linear time for every insertion
+     * or deletion, so every new digest only costs a single multi-exponentiation.
+     */
+    @Override
+    public AccumulatorDigestUpdater<Zn.ZnElement> createDigestUpdater(Collection<? extends Zn.ZnElement> setOfValues) {
+        if (setOfValues.size() > getMaxNumAccumulatedValues()) {
+            throw new IllegalArgumentException("Too many values for this accumulator.");
+        }
+
+        return new PolynomialDigestUpdater(setOfValues);
+    }
+
+    /**
+     * Maintains the coefficients c_0, ..., c_n of prod_[x_i in set] (x + x_i), the digest is g^{sum c_j s^j}.
+     */
+    private class PolynomialDigestUpdater implements AccumulatorDigestUpdater<Zn.ZnElement> {
+        /**
+         * coefficients.get(j) is the coefficient of x^j
+         */
+        private final List<Zn.ZnElement> coefficients = new ArrayList<>();
+
+        private NguyenDigest digest;
+
+        private PolynomialDigestUpdater(Collection<? extends Zn.ZnElement> setOfValues) {
+            coefficients.add(bilinearGroup.getZn().getOneElement());
+            setOfValues.forEach(this::multiplyLinearFactor);
+            digest = computeDigest();
+        }
+
+        /**
+         * Multiplies the polynomial with (x + value).
+         */
+        private void multiplyLinearFactor(Zn.ZnElement value) {
+            coefficients.add(bilinearGroup.getZn().getZeroElement());
+            for (int j = coefficients.size() - 1; j > 0; j--) {
+                coefficients.set(j, coefficients.get(j - 1).add(value.mul(coefficients.get(j))));
+            }
+            coefficients.set(0, value.mul(coefficients.get(0)));
+        }
+
+        /**
+         * Divides the polynomial by (x + value), which must be a factor of it.
+         */
+        private void divideLinearFactor(Zn.ZnElement value) {
+            // synthetic division from the leading coefficient downwards, the remainder is zero
+            int degree = coefficients.size() - 1;
+            for (int j = degree - 1; j >= 0; j--) {
+                coefficients.set(j, coefficients.get(j).sub(value.mul(coefficients.get(j + 1))));
+            }
+            coefficients.remove(0);
+        }
+
+        private NguyenDigest computeDigest() {
+            RingElementVector coefficientVector = new RingElementVector(coefficients)
+                    .pad(bilinearGroup.getZn().getZeroElement(), t.length());
+            return new NguyenDigest(t.innerProduct(coefficientVector).compute());
+        }
+
+        @Override
+        public NguyenDigest getDigest() {
+            return digest;
+        }
+
+        @Override
+        public NguyenDigest insert(Zn.ZnElement value) {
+            if (coefficients.size() > getMaxNumAccumulatedValues()) {
+                throw new IllegalArgumentException("Too many values for this accumulator.");
+            }
+            multiplyLinearFactor(value);
+            digest = computeDigest();
+            return digest;
+        }
+
+        @Override
+        public NguyenDigest delete(Zn.ZnElement value) {
+            divideLinearFactor(value);
+            digest = computeDigest();
+            return digest;
+        }
+    }
+
     @Override
     public NguyenWitness createWitness(AccumulatorDigest digest, Collection<? extends Zn.ZnElement> setOfAccumulatedValues, Zn.ZnElement valueToComputeWitnessFor) {
         return createWitness(setOfAccumulatedValues, valueToComputeWitnessFor);
@@ -139,21 +226,51 @@ public class NguyenAccumulatorScheme implements AccumulatorScheme<Zn.ZnElement>,
             throw new IllegalArgumentException("Desired value is not contained in the current accumulated set");
         }
 
-        GroupElement oldAcc = ((NguyenDigest) oldDigest).getDigest();
-        GroupElement newAcc = ((NguyenDigest) newDigest).getDigest();
-        GroupElement oldWitness = ((NguyenWitness) oldWitnessToBeUpdated).getWitness();
-
         if (newAccumulatedSet.size() == oldAccumulatedSet.size() + 1 && newAccumulatedSet.containsAll(oldAccumulatedSet)) {
             Zn.ZnElement insertedElement = newAccumulatedSet.stream().filter(x -> !oldAccumulatedSet.contains(x)).findAny().get();
-            return new NguyenWitness(oldAcc.op(oldWitness.pow(insertedElement.sub(valueToComputeWitnessFor))).compute());
+            return updateWitnessAfterInsert(oldDigest, newDigest, newAccumulatedSet, insertedElement, valueToComputeWitnessFor, oldWitnessToBeUpdated);
         } else if (newAccumulatedSet.size() == oldAccumulatedSet.size() - 1 && oldAccumulatedSet.containsAll(newAccumulatedSet)) {
             Zn.ZnElement deletedElement = oldAccumulatedSet.stream().filter(x -> !newAccumulatedSet.contains(x)).findAny().get();
-            return new NguyenWitness(oldWitness.op(newAcc.inv()).pow(deletedElement.sub(valueToComputeWitnessFor).inv()).compute());
+            return updateWitnessAfterDelete(oldDigest, newDigest, newAccumulatedSet, deletedElement, valueToComputeWitnessFor, oldWitnessToBeUpdated);
         }
 
         return createWitness(newAccumulatedSet, valueToComputeWitnessFor);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The witness for the inserted value is simply the old digest, so this does not need any group operations.
+     */
+    @Override
+    public NguyenWitness createWitnessForInsertedValue(AccumulatorDigest oldDigest, AccumulatorDigest newDigest, Collection<? extends Zn.ZnElement> newAccumulatedSet, Zn.ZnElement insertedValue) {
+        return new NguyenWitness(((NguyenDigest) oldDigest).getDigest());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Runs in constant time, {@code newAccumulatedSet} is not used.
+     */
+    @Override
+    public NguyenWitness updateWitnessAfterInsert(AccumulatorDigest oldDigest, AccumulatorDigest newDigest, Collection<? extends Zn.ZnElement> newAccumulatedSet, Zn.ZnElement insertedValue, Zn.ZnElement valueToComputeWitnessFor, AccumulatorWitness oldWitnessToBeUpdated) {
+        GroupElement oldAcc = ((NguyenDigest) oldDigest).getDigest();
+        GroupElement oldWitness = ((NguyenWitness) oldWitnessToBeUpdated).getWitness();
+        return new NguyenWitness(oldAcc.op(oldWitness.pow(insertedValue.sub(valueToComputeWitnessFor))).compute());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Runs in constant time, {@code newAccumulatedSet} is not used.
+     */
+    @Override
+    public NguyenWitness updateWitnessAfterDelete(AccumulatorDigest oldDigest, AccumulatorDigest newDigest, Collection<? extends Zn.ZnElement> newAccumulatedSet, Zn.ZnElement deletedValue, Zn.ZnElement valueToComputeWitnessFor, AccumulatorWitness oldWitnessToBeUpdated) {
+        GroupElement newAcc = ((NguyenDigest) newDigest).getDigest();
+        GroupElement oldWitness = ((NguyenWitness) oldWitnessToBeUpdated).getWitness();
+        return new NguyenWitness(oldWitness.op(newAcc.inv()).pow(deletedValue.sub(valueToComputeWitnessFor).inv()).compute());
+    }
+
     @Override
     public Integer getMaxNumAccumulatedValues() {
         return t.length()-1;
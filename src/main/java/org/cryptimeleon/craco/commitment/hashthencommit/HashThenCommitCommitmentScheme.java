@@ -11,6 +11,8 @@ import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.ReprUtil;
 import org.cryptimeleon.math.serialization.annotations.Represented;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Objects;
 
 /**
@@ -91,6 +93,65 @@ public class HashThenCommitCommitmentScheme implements CommitmentScheme {
         return encapsulatedScheme.verify(commitment, openValue, hashedPlainText);
     }
 
+    /**
+     * Returns an {@link java.io.OutputStream} that hashes the bytes written to it and
+     * commits to the hash when it is closed.
+     * Committing to bytes this way is equivalent to {@link #commit(PlainText)} with a
+     * {@link ByteArrayImplementation} of those bytes.
+     * <p>
+     * Bytes are hashed as they are written if the hash function is a
+     * {@link org.cryptimeleon.math.hash.impl.SHA256HashFunction}. For any other hash function
+     * (e.g. the {@link org.cryptimeleon.math.hash.impl.VariableOutputLengthHashFunction} used by
+     * {@link org.cryptimeleon.craco.protocols.arguments.damgardtechnique.DamgardTechnique}), the bytes are buffered
+     * until the stream is closed.
+     */
+    public StreamingHashThenCommitter commitStreaming() {
+        return new StreamingHashThenCommitter(encapsulatedScheme, IncrementalHash.of(hashFunction));
+    }
+
+    /**
+     * Commits to all bytes read from the given stream (until its end).
+     * For SHA-256, the whole message is never buffered.
+     *
+     * @see #commitStreaming()
+     */
+    public CommitmentPair commit(InputStream message) throws IOException {
+        StreamingHashThenCommitter committer = commitStreaming();
+        copy(message, committer);
+        return committer.getCommitmentPair();
+    }
+
+    /**
+     * Returns an {@link java.io.OutputStream} that hashes the bytes written to it and,
+     * when it is closed, verifies that the hash has been committed to in {@code commitment}.
+     * As for {@link #commitStreaming()}, the bytes are only hashed incrementally for SHA-256.
+     */
+    public StreamingHashThenCommitVerifier verifyStreaming(Commitment commitment, OpenValue openValue) {
+        return new StreamingHashThenCommitVerifier(encapsulatedScheme, IncrementalHash.of(hashFunction), commitment,
+                openValue);
+    }
+
+    /**
+     * Verifies that all bytes read from the given stream (until its end) are the message committed to.
+     * For SHA-256, the whole message is never buffered.
+     *
+     * @see #verifyStreaming(Commitment, OpenValue)
+     */
+    public boolean verify(Commitment commitment, OpenValue openValue, InputStream message) throws IOException {
+        StreamingHashThenCommitVerifier verifier = verifyStreaming(commitment, openValue);
+        copy(message, verifier);
+        return verifier.isValid();
+    }
+
+    private static void copy(InputStream in, HashingOutputStream out) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        int length;
+        while ((length = in.read(buffer)) != -1) {
+            out.write(buffer, 0, length);
+        }
+        out.close();
+    }
+
     @Override
     public PlainText mapToPlaintext(byte[] bytes) throws IllegalArgumentException {
         return new ByteArrayImplementation(bytes);
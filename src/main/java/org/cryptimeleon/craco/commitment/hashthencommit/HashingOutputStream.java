@@ -0,0 +1,53 @@
+package org.cryptimeleon.craco.commitment.hashthencommit;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Base class for the streaming variants of {@link HashThenCommitCommitmentScheme}.
+ * Feeds all written bytes into an {@link IncrementalHash} and hands the hash to {@link #onClose(byte[])}
+ * once the stream is closed.
+ */
+abstract class HashingOutputStream extends OutputStream {
+    private final IncrementalHash hash;
+    private boolean closed = false;
+
+    HashingOutputStream(IncrementalHash hash) {
+        this.hash = hash;
+    }
+
+    /**
+     * Called exactly once, with the hash of all bytes written to this stream.
+     */
+    protected abstract void onClose(byte[] hashedBytes);
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        hash.update((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        hash.update(b, off, len);
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            onClose(hash.digest());
+        }
+    }
+
+    protected boolean isClosed() {
+        return closed;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is already closed");
+        }
+    }
+}
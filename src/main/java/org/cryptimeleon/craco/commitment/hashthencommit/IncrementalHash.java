@@ -0,0 +1,94 @@
+package org.cryptimeleon.craco.commitment.hashthencommit;
+
+import org.cryptimeleon.math.hash.HashFunction;
+import org.cryptimeleon.math.hash.impl.SHA256HashFunction;
+
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the same function as a {@link HashFunction}, with the input given in several parts.
+ */
+abstract class IncrementalHash {
+
+    /**
+     * Adds a single byte to the input.
+     */
+    abstract void update(byte b);
+
+    /**
+     * Adds {@code len} bytes of {@code b}, starting at {@code off}, to the input.
+     */
+    abstract void update(byte[] b, int off, int len);
+
+    /**
+     * Returns the hash of all bytes added so far. Must be called at most once.
+     */
+    abstract byte[] digest();
+
+    /**
+     * Returns an incremental variant of the given hash function.
+     * <p>
+     * For {@link SHA256HashFunction}, the input is hashed as it arrives. {@link HashFunction} offers no incremental
+     * interface, so for any other hash function the input is buffered and hashed with
+     * {@link HashFunction#hash(byte[])} once {@link #digest()} is called.
+     */
+    static IncrementalHash of(HashFunction hashFunction) {
+        if (hashFunction instanceof SHA256HashFunction) {
+            try {
+                return new MessageDigestHash(MessageDigest.getInstance("SHA-256"));
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return new BufferedHash(hashFunction);
+    }
+
+    private static class MessageDigestHash extends IncrementalHash {
+        private final MessageDigest messageDigest;
+
+        MessageDigestHash(MessageDigest messageDigest) {
+            this.messageDigest = messageDigest;
+        }
+
+        @Override
+        void update(byte b) {
+            messageDigest.update(b);
+        }
+
+        @Override
+        void update(byte[] b, int off, int len) {
+            messageDigest.update(b, off, len);
+        }
+
+        @Override
+        byte[] digest() {
+            return messageDigest.digest();
+        }
+    }
+
+    private static class BufferedHash extends IncrementalHash {
+        private final HashFunction hashFunction;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        BufferedHash(HashFunction hashFunction) {
+            this.hashFunction = hashFunction;
+        }
+
+        @Override
+        void update(byte b) {
+            buffer.write(b);
+        }
+
+        @Override
+        void update(byte[] b, int off, int len) {
+            buffer.write(b, off, len);
+        }
+
+        @Override
+        byte[] digest() {
+            return hashFunction.hash(buffer.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.cryptimeleon.craco.commitment.hashthencommit;
+
+import org.cryptimeleon.craco.commitment.Commitment;
+import org.cryptimeleon.craco.commitment.CommitmentScheme;
+import org.cryptimeleon.craco.commitment.OpenValue;
+
+/**
+ * {@link java.io.OutputStream} that checks whether the bytes written to it are the message committed to in a given
+ * commitment, hashing them incrementally.
+ * <p>
+ * Verification happens when the stream is closed, the result can then be retrieved via {@link #isValid()}.
+ *
+ * @see HashThenCommitCommitmentScheme#verifyStreaming(Commitment, OpenValue)
+ */
+public class StreamingHashThenCommitVerifier extends HashingOutputStream {
+    private final CommitmentScheme encapsulatedScheme;
+    private final Commitment commitment;
+    private final OpenValue openValue;
+    private boolean valid;
+
+    StreamingHashThenCommitVerifier(CommitmentScheme encapsulatedScheme, IncrementalHash hash,
+                                    Commitment commitment, OpenValue openValue) {
+        super(hash);
+        this.encapsulatedScheme = encapsulatedScheme;
+        this.commitment = commitment;
+        this.openValue = openValue;
+    }
+
+    @Override
+    protected void onClose(byte[] hashedBytes) {
+        valid = encapsulatedScheme.verify(commitment, openValue, encapsulatedScheme.mapToPlaintext(hashedBytes));
+    }
+
+    /**
+     * Returns whether the written bytes are the committed message.
+     *
+     * @throws IllegalStateException if the stream has not been closed yet
+     */
+    public boolean isValid() {
+        if (!isClosed()) {
+            throw new IllegalStateException("Verification result is only available after the stream has been closed");
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,43 @@
+package org.cryptimeleon.craco.commitment.hashthencommit;
+
+import org.cryptimeleon.craco.commitment.CommitmentPair;
+import org.cryptimeleon.craco.commitment.CommitmentScheme;
+
+/**
+ * {@link java.io.OutputStream} that commits to all bytes written to it, hashing them incrementally
+ * (if the hash function supports it, see {@link HashThenCommitCommitmentScheme#commitStreaming()}).
+ * <p>
+ * The commitment is created when the stream is closed and can then be retrieved via {@link #getCommitmentPair()}.
+ * The result is the same as calling {@link HashThenCommitCommitmentScheme#commit(org.cryptimeleon.craco.common.plaintexts.PlainText)}
+ * on a {@link org.cryptimeleon.craco.common.ByteArrayImplementation} containing all written bytes,
+ * but with an incremental hash function the message never has to be held in memory.
+ * Use {@link java.nio.channels.Channels#newChannel(java.io.OutputStream)} to obtain a channel.
+ *
+ * @see HashThenCommitCommitmentScheme#commitStreaming()
+ */
+public class StreamingHashThenCommitter extends HashingOutputStream {
+    private final CommitmentScheme encapsulatedScheme;
+    private CommitmentPair commitmentPair;
+
+    StreamingHashThenCommitter(CommitmentScheme encapsulatedScheme, IncrementalHash hash) {
+        super(hash);
+        this.encapsulatedScheme = encapsulatedScheme;
+    }
+
+    @Override
+    protected void onClose(byte[] hashedBytes) {
+        commitmentPair = encapsulatedScheme.commit(encapsulatedScheme.mapToPlaintext(hashedBytes));
+    }
+
+    /**
+     * Returns the commitment to the written bytes.
+     *
+     * @throws IllegalStateException if the stream has not been closed yet
+     */
+    public CommitmentPair getCommitmentPair() {
+        if (!isClosed()) {
+            throw new IllegalStateException("Commitment is only available after the stream has been closed");
+        }
+        return commitmentPair;
+    }
+}
@@ -1,4 +1,4 @@
 /**
- * Contains a hash-then-commit wrapper class.
+ * Contains a hash-then-commit wrapper class and streaming variants of it.
  */
-package org.cryptimeleon.craco.commitment.hashthencommit;
\ No newline at end of file
+package org.cryptimeleon.craco.commitment.hashthencommit;
@@ -7,6 +7,7 @@ import org.cryptimeleon.craco.commitment.OpenValue;
 import org.cryptimeleon.craco.common.plaintexts.MessageBlock;
 import org.cryptimeleon.craco.common.plaintexts.PlainText;
 import org.cryptimeleon.craco.common.plaintexts.RingElementPlainText;
+import org.cryptimeleon.craco.common.utils.BatchVerificationUtil;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.ReprUtil;
 import org.cryptimeleon.math.serialization.annotations.Represented;
@@ -14,10 +15,16 @@ import org.cryptimeleon.math.structures.cartesian.Vector;
 import org.cryptimeleon.math.structures.groups.Group;
 import org.cryptimeleon.math.structures.groups.GroupElement;
 import org.cryptimeleon.math.structures.groups.cartesian.GroupElementVector;
+import org.cryptimeleon.math.structures.rings.RingElement;
 import org.cryptimeleon.math.structures.rings.cartesian.RingElementVector;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 
 /**
@@ -26,6 +33,13 @@ import java.util.Objects;
  * for (commit, open) methods.
  */
 public class PedersenCommitmentScheme implements CommitmentScheme {
+    /**
+     * Dimension from which on no fixed-base tables are precomputed for {@code h}, since they would be
+     * prohibitively large. Instead, the multi-exponentiation over {@code h} is split into one range per available
+     * processor, see {@link #innerProductH(RingElementVector)}.
+     */
+    public static final int LARGE_DIMENSION_THRESHOLD = 1024;
+
     @Represented
     protected Group group;
     @Represented(restorer = "group")
@@ -33,6 +47,10 @@ public class PedersenCommitmentScheme implements CommitmentScheme {
     @Represented(restorer = "group")
     protected GroupElement g; //element that will carry the randomness
 
+    /**
+     * Whether fixed-base precomputation for {@link #g} and {@link #h} has been triggered already.
+     */
+    private volatile boolean basesPrecomputed = false;
 
     public PedersenCommitmentScheme(Representation repr) {
         new ReprUtil(this).deserialize(repr);
@@ -67,11 +85,78 @@ public class PedersenCommitmentScheme implements CommitmentScheme {
         if (valuesToCommit.length() != h.length()) {
             throw new UnsupportedOperationException("Plaintext must consist of "+h.length()+" ZnElements");
         }
-        GroupElement c = h.innerProduct(valuesToCommit).op(g.pow(randomness));
+        precomputeBases();
+        GroupElement c = innerProductH(valuesToCommit).op(g.pow(randomness));
 
         return new CommitmentPair(new PedersenCommitment(c), new PedersenOpenValue(randomness));
     }
 
+    /**
+     * Commits to each of the given vectors using fresh randomness.
+     * The commitments are computed in parallel.
+     *
+     * @param valuesToCommit the vectors to commit to, each of length {@code h.length()}
+     * @return the commitment pairs, in the same order as {@code valuesToCommit}
+     */
+    public List<CommitmentPair> commitBatch(List<RingElementVector> valuesToCommit) {
+        precomputeBases();
+        return valuesToCommit.parallelStream()
+                .map(values -> {
+                    CommitmentPair pair = commit(values);
+                    ((PedersenCommitment) pair.getCommitment()).get().compute();
+                    return pair;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Precomputes fixed-base exponentiation tables for {@code g} and all {@code h_i}
+     * (the latter only below {@link #LARGE_DIMENSION_THRESHOLD}).
+     * Since the bases never change for a scheme instance, this is done once, on the first commit.
+     */
+    public void precomputeBases() {
+        if (!basesPrecomputed) {
+            synchronized (this) {
+                if (!basesPrecomputed) {
+                    g.precomputePow();
+                    if (h.length() < LARGE_DIMENSION_THRESHOLD) {
+                        h.precomputePow();
+                    }
+                    basesPrecomputed = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes \(\prod_i h_i^{\text{exponents}_i}\).
+     * <p>
+     * From {@link #LARGE_DIMENSION_THRESHOLD} on, {@code h} and {@code exponents} are split into one range per
+     * available processor. The partial multi-exponentiations are computed in parallel (on the common
+     * {@link java.util.concurrent.ForkJoinPool}) and multiplied. Below the threshold, this is
+     * {@code h.innerProduct(exponents)}.
+     */
+    protected GroupElement innerProductH(RingElementVector exponents) {
+        int n = h.length();
+        int ranges = Math.min(Runtime.getRuntime().availableProcessors(), n);
+        if (n < LARGE_DIMENSION_THRESHOLD || ranges < 2) {
+            return h.innerProduct(exponents);
+        }
+
+        int rangeSize = (n + ranges - 1) / ranges;
+        return IntStream.range(0, ranges).parallel()
+                .mapToObj(range -> {
+                    int from = range * rangeSize;
+                    int to = Math.min(n, from + rangeSize);
+                    GroupElementVector bases = new GroupElementVector(IntStream.range(from, to)
+                            .mapToObj(h::get).toArray(GroupElement[]::new));
+                    RingElementVector rangeExponents = new RingElementVector(IntStream.range(from, to)
+                            .mapToObj(exponents::get).toArray(RingElement[]::new));
+                    return bases.innerProduct(rangeExponents).computeSync();
+                })
+                .reduce(group.getNeutralElement(), GroupElement::op);
+    }
+
     @Override
     public boolean verify(Commitment commitment, OpenValue openValue, PlainText plainText) {
         return verify(commitment, openValue, plaintextToRingElementVector(plainText));
@@ -82,6 +167,87 @@ public class PedersenCommitmentScheme implements CommitmentScheme {
                 .equals(commitment);
     }
 
+    /**
+     * Verifies many openings at once.
+     * <p>
+     * Instead of recommitting to every opening, this checks a random linear combination of all openings, i.e.
+     * \(\prod_i h_i^{\sum_j \delta_j m_{j,i}} \cdot g^{\sum_j \delta_j r_j} = \prod_j C_j^{\delta_j}\)
+     * for small random \(\delta_j\), i.e. one multi-exponentiation over {@code h} and {@code g} and one over
+     * the commitments, where the latter only uses the short exponents \(\delta_j\). If any opening is invalid, this returns false except with negligible probability.
+     *
+     * @param commitments the commitments
+     * @param openValues the open values, {@code openValues.get(j)} belongs to {@code commitments.get(j)}
+     * @param committedValues the committed vectors, {@code committedValues.get(j)} belongs to {@code commitments.get(j)}
+     * @return true if all openings are valid (with overwhelming probability), false if at least one is invalid
+     * @see #findInvalidOpenings(List, List, List)
+     */
+    public boolean verifyBatch(List<? extends Commitment> commitments, List<? extends OpenValue> openValues,
+                               List<RingElementVector> committedValues) {
+        return verifyBatch(commitments, openValues, committedValues, 0, commitments.size());
+    }
+
+    /**
+     * Verifies many openings at once like {@link #verifyBatch(List, List, List)} and, if the batch check fails,
+     * bisects the batch to find the invalid openings.
+     *
+     * @return the (ascending) indices of all invalid openings; empty if all openings are valid
+     */
+    public List<Integer> findInvalidOpenings(List<? extends Commitment> commitments, List<? extends OpenValue> openValues,
+                                             List<RingElementVector> committedValues) {
+        List<Integer> result = new ArrayList<>();
+        findInvalidOpenings(commitments, openValues, committedValues, 0, commitments.size(), result);
+        return result;
+    }
+
+    private void findInvalidOpenings(List<? extends Commitment> commitments, List<? extends OpenValue> openValues,
+                                     List<RingElementVector> committedValues, int from, int to, List<Integer> result) {
+        if (to - from == 1) {
+            if (!verify(commitments.get(from), openValues.get(from), committedValues.get(from)))
+                result.add(from);
+            return;
+        }
+        if (to <= from || verifyBatch(commitments, openValues, committedValues, from, to))
+            return;
+
+        int mid = (from + to) >>> 1;
+        findInvalidOpenings(commitments, openValues, committedValues, from, mid, result);
+        findInvalidOpenings(commitments, openValues, committedValues, mid, to, result);
+    }
+
+    /**
+     * Batch-verifies the openings with indices in {@code [from, to)}.
+     */
+    private boolean verifyBatch(List<? extends Commitment> commitments, List<? extends OpenValue> openValues,
+                                List<RingElementVector> committedValues, int from, int to) {
+        if (commitments.size() != openValues.size() || commitments.size() != committedValues.size()) {
+            throw new IllegalArgumentException("Number of commitments, open values and committed values must match");
+        }
+        precomputeBases();
+
+        Zn zn = group.getZn();
+        RingElement[] aggregatedValues = new RingElement[h.length()];
+        Arrays.fill(aggregatedValues, zn.getZeroElement());
+        Zn.ZnElement aggregatedRandomness = zn.getZeroElement();
+        GroupElement commitmentProduct = group.getNeutralElement();
+        for (int j = from; j < to; j++) {
+            RingElementVector values = committedValues.get(j);
+            if (values.length() != h.length()) {
+                throw new UnsupportedOperationException("Plaintext must consist of "+h.length()+" ZnElements");
+            }
+            Zn.ZnElement delta = BatchVerificationUtil.getRandomSmallExponent(zn);
+            for (int i = 0; i < aggregatedValues.length; i++) {
+                aggregatedValues[i] = aggregatedValues[i].add(values.get(i).mul(delta));
+            }
+            aggregatedRandomness = aggregatedRandomness.add(((PedersenOpenValue) openValues.get(j)).getRandomValue().mul(delta));
+            commitmentProduct = commitmentProduct.op(((PedersenCommitment) commitments.get(j)).get().pow(delta));
+        }
+
+        // compare instead of dividing by the commitment product, so that the exponents delta_j stay short
+        return innerProductH(new RingElementVector(aggregatedValues))
+                .op(g.pow(aggregatedRandomness))
+                .equals(commitmentProduct);
+    }
+
     @Override
     public MessageBlock mapToPlaintext(byte[] bytes) throws IllegalArgumentException {
         //Result will be a vector (zp.injectiveValueOf(bytes), 0, ..., 0)
@@ -0,0 +1,102 @@
+package org.cryptimeleon.craco.commitment.pedersen;
+
+import org.cryptimeleon.math.serialization.BigIntegerRepresentation;
+import org.cryptimeleon.math.serialization.ByteArrayRepresentation;
+import org.cryptimeleon.math.serialization.ObjectRepresentation;
+import org.cryptimeleon.math.serialization.RepresentableRepresentation;
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.HashIntoStructure;
+import org.cryptimeleon.math.structures.groups.Group;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.cartesian.GroupElementVector;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Pedersen commitment scheme whose bases are derived deterministically from a public seed by hashing into the group.
+ * <p>
+ * Since nobody knows discrete logarithms between hashed group elements, this is as secure as choosing the bases
+ * uniformly at random. The advantage is that the representation of the scheme only contains the seed and the dimension
+ * instead of all bases, which matters for very large dimensions (e.g. committing to whole datasets).
+ * The bases are re-derived (in parallel) when the representation is restored.
+ */
+public class SeededPedersenCommitmentScheme extends PedersenCommitmentScheme {
+    private static final byte[] DOMAIN_G = "PedersenG".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DOMAIN_H = "PedersenH".getBytes(StandardCharsets.UTF_8);
+
+    private final HashIntoStructure hashIntoGroup;
+    private final byte[] seed;
+
+    /**
+     * Sets up the scheme for the given dimension.
+     *
+     * @param group the group to commit in
+     * @param hashIntoGroup a hash function into {@code group}
+     * @param seed the public seed the bases are derived from
+     * @param numMessages the number of messages that can be committed to at once
+     */
+    public SeededPedersenCommitmentScheme(Group group, HashIntoStructure hashIntoGroup, byte[] seed, int numMessages) {
+        super(group, deriveG(hashIntoGroup, seed), deriveH(hashIntoGroup, seed, numMessages));
+        this.hashIntoGroup = hashIntoGroup;
+        this.seed = seed.clone();
+    }
+
+    public SeededPedersenCommitmentScheme(Representation repr) {
+        this((Group) repr.obj().get("group").repr().recreateRepresentable(),
+                (HashIntoStructure) repr.obj().get("hash").repr().recreateRepresentable(),
+                ((ByteArrayRepresentation) repr.obj().get("seed")).get(),
+                repr.obj().get("numMessages").bigInt().getInt());
+    }
+
+    private static GroupElement deriveG(HashIntoStructure hashIntoGroup, byte[] seed) {
+        return ((GroupElement) hashIntoGroup.hash(concat(DOMAIN_G, seed, 0))).compute();
+    }
+
+    private static GroupElementVector deriveH(HashIntoStructure hashIntoGroup, byte[] seed, int numMessages) {
+        return new GroupElementVector(IntStream.range(0, numMessages).parallel()
+                .mapToObj(i -> ((GroupElement) hashIntoGroup.hash(concat(DOMAIN_H, seed, i))).compute())
+                .toArray(GroupElement[]::new));
+    }
+
+    private static byte[] concat(byte[] domain, byte[] seed, int index) {
+        return ByteBuffer.allocate(domain.length + seed.length + 2 * Integer.BYTES)
+                .put(domain)
+                .putInt(seed.length)
+                .put(seed)
+                .putInt(index)
+                .array();
+    }
+
+    public byte[] getSeed() {
+        return seed.clone();
+    }
+
+    public HashIntoStructure getHashIntoGroup() {
+        return hashIntoGroup;
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        ObjectRepresentation repr = new ObjectRepresentation();
+        repr.put("group", new RepresentableRepresentation(group));
+        repr.put("hash", new RepresentableRepresentation(hashIntoGroup));
+        repr.put("seed", new ByteArrayRepresentation(seed));
+        repr.put("numMessages", new BigIntegerRepresentation(h.length()));
+        return repr;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) return false;
+        SeededPedersenCommitmentScheme that = (SeededPedersenCommitmentScheme) o;
+        return hashIntoGroup.equals(that.hashIntoGroup) && Arrays.equals(seed, that.seed);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Arrays.hashCode(seed);
+    }
+}
@@ -0,0 +1,196 @@
+package org.cryptimeleon.craco.common.policies;
+
+import java.util.*;
+
+/**
+ * A {@link Policy} compiled into an array-based threshold circuit for fast repeated evaluation.
+ * <p>
+ * Every {@link PolicyFact} occurring in the policy is assigned an integer id, such that sets of facts can be
+ * represented as {@link BitSet}s (see {@link #toBitSet(Collection)}).
+ * {@link BooleanPolicy} nodes are turned into threshold gates (n-of-n for AND, 1-of-n for OR).
+ * Evaluation stops visiting the children of a gate as soon as its result is determined,
+ * and the children of every gate are ordered by size so that cheap subtrees are evaluated first.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public class CompiledPolicy {
+
+    /**
+     * Maps each fact of the policy to its id.
+     */
+    private final Map<PolicyFact, Integer> factIds = new HashMap<>();
+
+    /**
+     * The facts of the policy, indexed by their id.
+     */
+    private final List<PolicyFact> facts = new ArrayList<>();
+
+    /**
+     * For each gate, the number of children that need to be fulfilled. Zero for leaves.
+     */
+    private final int[] thresholds;
+
+    /**
+     * For each gate, the id of the fact checked by it if it is a leaf, -1 otherwise.
+     */
+    private final int[] leafFactIds;
+
+    /**
+     * Gates are numbered in breadth-first order, so the children of gate i are the gates
+     * {@code firstChild[i], ..., firstChild[i + 1] - 1}.
+     */
+    private final int[] firstChild;
+
+    /**
+     * Compiles the given policy. The root gate of the circuit has index 0.
+     *
+     * @param policy the policy to compile
+     * @throws IllegalArgumentException if the policy contains any node which is neither a {@link ThresholdPolicy},
+     *                                  a {@link BooleanPolicy} nor a {@link PolicyFact}
+     */
+    public CompiledPolicy(Policy policy) {
+        Map<Policy, Integer> sizes = new IdentityHashMap<>();
+        computeSize(policy, sizes);
+
+        List<Policy> gates = new ArrayList<>();
+        List<Integer> numberOfChildren = new ArrayList<>();
+        gates.add(policy);
+        for (int i = 0; i < gates.size(); i++) {
+            List<Policy> gateChildren = getChildren(gates.get(i));
+            gateChildren.sort(Comparator.comparingInt(sizes::get));
+            numberOfChildren.add(gateChildren.size());
+            gates.addAll(gateChildren);
+        }
+
+        int numberOfGates = gates.size();
+        thresholds = new int[numberOfGates];
+        leafFactIds = new int[numberOfGates];
+        firstChild = new int[numberOfGates + 1];
+        firstChild[0] = 1;
+        for (int i = 0; i < numberOfGates; i++) {
+            firstChild[i + 1] = firstChild[i] + numberOfChildren.get(i);
+
+            Policy gate = gates.get(i);
+            if (gate instanceof PolicyFact) {
+                leafFactIds[i] = factIds.computeIfAbsent((PolicyFact) gate, fact -> {
+                    facts.add(fact);
+                    return facts.size() - 1;
+                });
+            } else {
+                leafFactIds[i] = -1;
+                thresholds[i] = getThreshold(gate);
+            }
+        }
+    }
+
+    private static List<Policy> getChildren(Policy policy) {
+        if (policy instanceof PolicyFact) {
+            return new ArrayList<>();
+        } else if (policy instanceof ThresholdPolicy) {
+            return ((ThresholdPolicy) policy).getChildren();
+        } else if (policy instanceof BooleanPolicy) {
+            return new ArrayList<>(((BooleanPolicy) policy).getChildren());
+        }
+        throw new IllegalArgumentException(policy.getClass().getName() + " is not a supported policy type");
+    }
+
+    private static int getThreshold(Policy policy) {
+        if (policy instanceof ThresholdPolicy) {
+            return ((ThresholdPolicy) policy).getThreshold();
+        }
+        BooleanPolicy booleanPolicy = (BooleanPolicy) policy;
+        return booleanPolicy.getOperator() == BooleanPolicy.BooleanOperator.AND
+                ? booleanPolicy.getChildren().size() : 1;
+    }
+
+    /**
+     * Computes the number of nodes of the given policy and all of its subpolicies.
+     */
+    private static int computeSize(Policy policy, Map<Policy, Integer> sizes) {
+        int size = 1;
+        for (Policy child : getChildren(policy)) {
+            size += computeSize(child, sizes);
+        }
+        sizes.put(policy, size);
+        return size;
+    }
+
+    /**
+     * Returns the id assigned to the given fact, or -1 if it does not occur in the policy.
+     */
+    public int getFactId(PolicyFact fact) {
+        return factIds.getOrDefault(fact, -1);
+    }
+
+    /**
+     * Returns the fact with the given id.
+     */
+    public PolicyFact getFact(int id) {
+        return facts.get(id);
+    }
+
+    /**
+     * Returns the number of distinct facts occurring in the policy.
+     */
+    public int getNumberOfFacts() {
+        return facts.size();
+    }
+
+    /**
+     * Returns the number of gates (including leaves) of the compiled circuit.
+     */
+    public int getNumberOfGates() {
+        return thresholds.length;
+    }
+
+    /**
+     * Converts the given facts into a {@link BitSet} of their ids. Facts not occurring in the policy are ignored.
+     */
+    public BitSet toBitSet(Collection<? extends PolicyFact> facts) {
+        BitSet result = new BitSet(getNumberOfFacts());
+        for (PolicyFact fact : facts) {
+            int id = getFactId(fact);
+            if (id >= 0) {
+                result.set(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the given facts fulfill the policy.
+     */
+    public boolean isFulfilled(Collection<? extends PolicyFact> facts) {
+        return isFulfilled(toBitSet(facts));
+    }
+
+    /**
+     * Checks whether the facts with the given ids fulfill the policy.
+     *
+     * @param factIds the ids (see {@link #getFactId(PolicyFact)}) of the facts that are held
+     */
+    public boolean isFulfilled(BitSet factIds) {
+        return evaluate(0, factIds);
+    }
+
+    private boolean evaluate(int gate, BitSet factIds) {
+        if (leafFactIds[gate] >= 0) {
+            return factIds.get(leafFactIds[gate]);
+        }
+
+        int threshold = thresholds[gate];
+        int fulfilled = 0;
+        int remaining = firstChild[gate + 1] - firstChild[gate];
+        for (int child = firstChild[gate]; child < firstChild[gate + 1]; child++) {
+            // stop as soon as the result is determined
+            if (fulfilled >= threshold || fulfilled + remaining < threshold) {
+                break;
+            }
+            if (evaluate(child, factIds)) {
+                fulfilled++;
+            }
+            remaining--;
+        }
+        return fulfilled >= threshold;
+    }
+}
@@ -0,0 +1,190 @@
+package org.cryptimeleon.craco.common.policies;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Rewrites a {@link Policy} into an equivalent, smaller tree of {@link ThresholdPolicy}s before it is used for
+ * secret sharing.
+ * <p>
+ * The following rules are applied in a single bottom-up pass:
+ * <ul>
+ *     <li>{@link BooleanPolicy}s are turned into threshold nodes (n-of-n for AND, 1-of-n for OR).</li>
+ *     <li>Associative chains are flattened: an OR (1-of-m) child of an OR node and an AND (m-of-m) child of an
+ *     AND node are replaced by their children.</li>
+ *     <li>Duplicate children of OR and AND nodes are removed (for other thresholds, duplicates change the
+ *     semantics and are kept).</li>
+ *     <li>1-of-1 nodes are replaced by their only child.</li>
+ *     <li>Children are sorted by a canonical encoding, so equivalent inputs yield equal outputs.</li>
+ * </ul>
+ * Every share receiver of the normalized policy is still a share receiver of the original policy,
+ * but the number of leaves (and hence the number of shares) and the number of inner nodes may decrease.
+ * The size reduction can be queried via {@link #getNumberOfLeavesBefore()}, {@link #getNumberOfLeavesAfter()},
+ * {@link #getNumberOfNodesBefore()} and {@link #getNumberOfNodesAfter()}.
+ * <p>
+ * Since the share indices of the normalized policy differ from those of the original policy, normalization is
+ * not applied automatically; it has to be done before creating the secret sharing scheme.
+ */
+public class PolicyNormalizer {
+
+    private final Policy normalizedPolicy;
+    private final int numberOfNodesBefore;
+    private final int numberOfLeavesBefore;
+    private final int numberOfNodesAfter;
+    private final int numberOfLeavesAfter;
+
+    /**
+     * Normalizes the given policy.
+     *
+     * @param policy the policy to normalize
+     * @throws IllegalArgumentException if the policy contains any node which is neither a {@link ThresholdPolicy},
+     *                                  a {@link BooleanPolicy} nor a {@link PolicyFact}
+     */
+    public PolicyNormalizer(Policy policy) {
+        numberOfNodesBefore = countNodes(policy, false);
+        numberOfLeavesBefore = countNodes(policy, true);
+        normalizedPolicy = normalize(policy).policy;
+        numberOfNodesAfter = countNodes(normalizedPolicy, false);
+        numberOfLeavesAfter = countNodes(normalizedPolicy, true);
+    }
+
+    /**
+     * Returns the normalized policy, either a {@link ThresholdPolicy} or a {@link PolicyFact}.
+     */
+    public Policy getNormalizedPolicy() {
+        return normalizedPolicy;
+    }
+
+    public int getNumberOfNodesBefore() {
+        return numberOfNodesBefore;
+    }
+
+    public int getNumberOfNodesAfter() {
+        return numberOfNodesAfter;
+    }
+
+    /**
+     * Returns the number of leaves of the original policy, i.e. the number of shares it leads to.
+     */
+    public int getNumberOfLeavesBefore() {
+        return numberOfLeavesBefore;
+    }
+
+    /**
+     * Returns the number of leaves of the normalized policy, i.e. the number of shares it leads to.
+     */
+    public int getNumberOfLeavesAfter() {
+        return numberOfLeavesAfter;
+    }
+
+    @Override
+    public String toString() {
+        return "PolicyNormalizer{nodes: " + numberOfNodesBefore + " -> " + numberOfNodesAfter
+                + ", leaves: " + numberOfLeavesBefore + " -> " + numberOfLeavesAfter + "}";
+    }
+
+    /**
+     * A normalized policy together with its canonical encoding (used for sorting and duplicate detection).
+     */
+    private static class NormalizedNode {
+        private final Policy policy;
+        private final String key;
+        private final int threshold;
+        private final List<NormalizedNode> children;
+
+        private NormalizedNode(PolicyFact fact) {
+            this.policy = (Policy) fact;
+            this.key = fact.getClass().getName() + ":"
+                    + new BigInteger(1, policy.getUniqueByteRepresentation()).toString(16);
+            this.threshold = 0;
+            this.children = Collections.emptyList();
+        }
+
+        private NormalizedNode(int threshold, List<NormalizedNode> children) {
+            this.policy = new ThresholdPolicy(threshold,
+                    children.stream().map(child -> child.policy).collect(Collectors.toList()));
+            this.key = "T" + threshold + children.stream()
+                    .map(child -> child.key)
+                    .collect(Collectors.joining(",", "(", ")"));
+            this.threshold = threshold;
+            this.children = children;
+        }
+
+        private boolean isOr() {
+            return threshold == 1;
+        }
+
+        private boolean isAnd() {
+            return threshold > 1 && threshold == children.size();
+        }
+    }
+
+    private static NormalizedNode normalize(Policy policy) {
+        if (policy instanceof PolicyFact) {
+            return new NormalizedNode((PolicyFact) policy);
+        }
+
+        int threshold;
+        List<Policy> children;
+        if (policy instanceof ThresholdPolicy) {
+            threshold = ((ThresholdPolicy) policy).getThreshold();
+            children = ((ThresholdPolicy) policy).getChildren();
+        } else if (policy instanceof BooleanPolicy) {
+            BooleanPolicy booleanPolicy = (BooleanPolicy) policy;
+            children = new ArrayList<>(booleanPolicy.getChildren());
+            threshold = booleanPolicy.getOperator() == BooleanPolicy.BooleanOperator.AND ? children.size() : 1;
+        } else {
+            throw new IllegalArgumentException(policy.getClass().getName() + " is not a supported policy type");
+        }
+
+        boolean isOr = threshold == 1;
+        boolean isAnd = threshold == children.size() && threshold > 1;
+
+        List<NormalizedNode> normalizedChildren = new ArrayList<>();
+        for (Policy child : children) {
+            NormalizedNode normalizedChild = normalize(child);
+            // flatten associative chains
+            if ((isOr && normalizedChild.isOr()) || (isAnd && normalizedChild.isAnd())) {
+                normalizedChildren.addAll(normalizedChild.children);
+            } else {
+                normalizedChildren.add(normalizedChild);
+            }
+        }
+
+        if (isOr || isAnd) {
+            // duplicates do not change the result of OR and AND
+            Map<String, NormalizedNode> distinctChildren = new LinkedHashMap<>();
+            normalizedChildren.forEach(child -> distinctChildren.putIfAbsent(child.key, child));
+            normalizedChildren = new ArrayList<>(distinctChildren.values());
+            if (isAnd) {
+                threshold = normalizedChildren.size();
+            }
+        }
+
+        if (threshold == 1 && normalizedChildren.size() == 1) {
+            return normalizedChildren.get(0);
+        }
+
+        normalizedChildren.sort(Comparator.comparing(child -> child.key));
+        return new NormalizedNode(threshold, normalizedChildren);
+    }
+
+    private static int countNodes(Policy policy, boolean onlyLeaves) {
+        Collection<Policy> children;
+        if (policy instanceof PolicyFact) {
+            return 1;
+        } else if (policy instanceof ThresholdPolicy) {
+            children = ((ThresholdPolicy) policy).getChildren();
+        } else if (policy instanceof BooleanPolicy) {
+            children = ((BooleanPolicy) policy).getChildren();
+        } else {
+            throw new IllegalArgumentException(policy.getClass().getName() + " is not a supported policy type");
+        }
+        int count = onlyLeaves ? 0 : 1;
+        for (Policy child : children) {
+            count += countNodes(child, onlyLeaves);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,55 @@
+package org.cryptimeleon.craco.common.utils;
+
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+
+/**
+ * Batch inversion of field elements (Montgomery's trick).
+ * <p>
+ * Inverting \(n\) elements costs a single field inversion and \(3(n-1)\) multiplications,
+ * compared to \(n\) inversions when inverting them one by one.
+ */
+public final class BatchInversionUtil {
+    /**
+     * Hidden constructor.
+     */
+    private BatchInversionUtil() {
+
+    }
+
+    /**
+     * Returns an array containing the inverses of the given elements (in the same order).
+     *
+     * @param elements the elements to invert, all non-zero and of the same field
+     * @return the inverses of {@code elements}
+     * @throws IllegalArgumentException if any element is zero
+     */
+    public static Zp.ZpElement[] batchInvert(Zp.ZpElement[] elements) {
+        int n = elements.length;
+        Zp.ZpElement[] result = new Zp.ZpElement[n];
+        if (n == 0) {
+            return result;
+        }
+        for (Zp.ZpElement element : elements) {
+            if (element.isZero()) {
+                throw new IllegalArgumentException("Cannot invert zero");
+            }
+        }
+
+        // prefix products: result[i] = elements[0] * ... * elements[i]
+        result[0] = elements[0];
+        for (int i = 1; i < n; i++) {
+            result[i] = result[i - 1].mul(elements[i]);
+        }
+
+        // walk backwards, keeping inverse = (elements[0] * ... * elements[i])^(-1)
+        Zp.ZpElement inverse = result[n - 1].inv();
+        for (int i = n - 1; i > 0; i--) {
+            Zp.ZpElement elementInverse = inverse.mul(result[i - 1]);
+            inverse = inverse.mul(elements[i]);
+            result[i] = elementInverse;
+        }
+        result[0] = inverse;
+
+        return result;
+    }
+}
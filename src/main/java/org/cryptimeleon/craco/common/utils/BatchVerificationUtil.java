@@ -0,0 +1,53 @@
+package org.cryptimeleon.craco.common.utils;
+
+import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+
+import java.math.BigInteger;
+
+/**
+ * Helper methods for small-exponent batch verification.
+ * <p>
+ * To check many equations \(X_j = 1\) at once, one checks \(\prod_j X_j^{\delta_j} = 1\) for random \(\delta_j\).
+ * If any single equation does not hold, the combined check passes with probability at most
+ * \(2^{-\ell}\), where \(\ell\) is the bit length of the \(\delta_j\).
+ */
+public final class BatchVerificationUtil {
+    /**
+     * Bit length of the random exponents returned by {@link #getRandomSmallExponent(Zn)}.
+     */
+    public static final int SMALL_EXPONENT_BIT_LENGTH = 128;
+
+    /**
+     * Hidden constructor.
+     */
+    private BatchVerificationUtil() {
+
+    }
+
+    /**
+     * Returns a uniformly random non-zero element of {@code zn} with at most {@link #SMALL_EXPONENT_BIT_LENGTH} bits.
+     * Short exponents keep the cost of the combined multi-exponentiation low.
+     *
+     * @param zn the ring to return an element of
+     * @return a random small exponent
+     */
+    public static Zn.ZnElement getRandomSmallExponent(Zn zn) {
+        BigInteger exponent;
+        do {
+            exponent = new BigInteger(1, RandomGenerator.getRandomBytes(SMALL_EXPONENT_BIT_LENGTH / 8));
+        } while (exponent.signum() == 0);
+        return zn.createZnElement(exponent);
+    }
+
+    /**
+     * Returns an array of {@code num} independent random exponents as returned by {@link #getRandomSmallExponent(Zn)}.
+     */
+    public static Zn.ZnElement[] getRandomSmallExponents(Zn zn, int num) {
+        Zn.ZnElement[] result = new Zn.ZnElement[num];
+        for (int i = 0; i < num; i++) {
+            result[i] = getRandomSmallExponent(zn);
+        }
+        return result;
+    }
+}
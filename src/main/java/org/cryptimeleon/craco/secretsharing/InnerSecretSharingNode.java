@@ -16,12 +16,21 @@ public class InnerSecretSharingNode implements SecretSharingTreeNode {
     private ThresholdPolicy policy;
     private LinearSecretSharing<Policy> lsss;
 
+    /**
+     * childShareIdOffsets[i] is the number of shares in the subtrees of the children 0, ..., i-1.
+     */
+    private int[] childShareIdOffsets;
+
     public InnerSecretSharingNode(List<SecretSharingTreeNode> children, int numberOfShares,
                                   ThresholdPolicy policy, LinearSecretSharing<Policy> lsss) {
         this.children = children;
         this.numberOfShares = numberOfShares;
         this.policy = policy;
         this.lsss = lsss;
+        this.childShareIdOffsets = new int[children.size()];
+        for (int i = 1; i < children.size(); i++) {
+            childShareIdOffsets[i] = childShareIdOffsets[i - 1] + children.get(i - 1).getNumberOfShares();
+        }
     }
 
     @Override
@@ -43,6 +52,16 @@ public class InnerSecretSharingNode implements SecretSharingTreeNode {
         return children;
     }
 
+    /**
+     * Returns the number of shares in the subtrees of the children preceding the given child,
+     * i.e. the offset of the child's share ids relative to the share ids of this node.
+     *
+     * @param childIndex the (0-based) index of the child
+     */
+    public int getChildShareIdOffset(int childIndex) {
+        return childShareIdOffsets[childIndex];
+    }
+
     public LinearSecretSharing<Policy> getLsss() {
         return lsss;
     }
@@ -2,11 +2,14 @@ package org.cryptimeleon.craco.secretsharing;
 
 import org.cryptimeleon.craco.secretsharing.accessstructure.exceptions.NoSatisfyingSet;
 import org.cryptimeleon.craco.secretsharing.accessstructure.exceptions.WrongAccessStructureException;
+import org.cryptimeleon.math.structures.groups.GroupElement;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -52,6 +55,31 @@ public interface LinearSecretSharing<ShareReceiverType> {
      */
     Map<Integer, ZpElement> getShares(ZpElement secret) throws WrongAccessStructureException;
 
+    /**
+     * Randomly generates shares for each of the given secrets (independently).
+     * <p>
+     * The default implementation calls {@link #getShares(ZpElement)} for each secret in parallel.
+     * Implementations may override this if sharing many secrets at once can be done more efficiently.
+     *
+     * @param secrets the secrets to share
+     * @return a map mapping index i to the array of shares \(s_i\) of all secrets,
+     *         i.e. the j-th entry of the array is the i-th share of the j-th secret.
+     */
+    default Map<Integer, ZpElement[]> getShares(List<ZpElement> secrets) throws WrongAccessStructureException {
+        List<Map<Integer, ZpElement>> sharesPerSecret = secrets.parallelStream()
+                .map(secret -> getShares(secret))
+                .collect(Collectors.toList());
+
+        Map<Integer, ZpElement[]> result = new HashMap<>();
+        for (int j = 0; j < sharesPerSecret.size(); j++) {
+            for (Map.Entry<Integer, ZpElement> share : sharesPerSecret.get(j).entrySet()) {
+                result.computeIfAbsent(share.getKey(), i -> new ZpElement[sharesPerSecret.size()])[j] =
+                        share.getValue();
+            }
+        }
+        return result;
+    }
+
     /**
      * Instructs how to reconstruct a shared secret using the shares of a given set of share receivers
      * {@code setOfShareReceivers}.
@@ -94,6 +122,60 @@ public interface LinearSecretSharing<ShareReceiverType> {
                 .reduce(getSharedRing().getZeroElement(), ZpElement::add); // add all of them
     }
 
+    /**
+     * Reconstructs \(g^{\text{secret}}\) from shares \(g^{s_i}\) in the exponent, e.g. for threshold decryption.
+     * <p>
+     * Computes \(\prod g^{s_i \cdot a_i}\) for the solving vector \(a_i\) of the share receivers
+     * implied by the shares. The product is evaluated as a single multi-exponentiation.
+     *
+     * @param shares a partial set of shares in the exponent (i.e. a map containing a (qualified) subset of the
+     *               entries of {@code getShares()}, each raised to the same base)
+     * @return the reconstructed secret in the exponent
+     * @throws NoSatisfyingSet if the set of share receivers implied by the shares is not qualified
+     */
+    default GroupElement reconstructInExponent(Map<Integer, GroupElement> shares) throws NoSatisfyingSet,
+            WrongAccessStructureException {
+        return reconstructInExponent(Collections.singletonList(shares)).get(0);
+    }
+
+    /**
+     * Reconstructs many secrets in the exponent that were shared among the same quorum,
+     * see {@link #reconstructInExponent(Map)}.
+     * <p>
+     * The solving vector is computed only once, and the multi-exponentiations are evaluated in parallel.
+     *
+     * @param shares list of partial sets of shares in the exponent, all of them for the same share indices
+     * @return the reconstructed secrets in the exponent, in the same order as {@code shares}
+     * @throws NoSatisfyingSet if the set of share receivers implied by the shares is not qualified
+     * @throws IllegalArgumentException if the partial sets of shares are not all for the same share indices
+     */
+    default List<GroupElement> reconstructInExponent(List<Map<Integer, GroupElement>> shares) throws NoSatisfyingSet,
+            WrongAccessStructureException {
+        if (shares.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<Integer> shareIds = shares.get(0).keySet();
+        if (shares.stream().anyMatch(s -> !s.keySet().equals(shareIds))) {
+            throw new IllegalArgumentException("All sets of shares need to belong to the same share receivers");
+        }
+
+        Set<ShareReceiverType> shareReceivers = getShareReceiverMap().entrySet().stream()
+                .filter(entry -> shareIds.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toSet());
+
+        Map<Integer, ZpElement> solvingVector = getSolvingVector(shareReceivers);
+
+        return shares.parallelStream()
+                .map(sharesInExponent -> sharesInExponent.entrySet().stream()
+                        .filter(e -> solvingVector.containsKey(e.getKey()))
+                        .map(e -> e.getValue().pow(solvingVector.get(e.getKey()))) // lazy, so this is a multiexp
+                        .reduce(GroupElement::op)
+                        .orElseThrow(NoSatisfyingSet::new)
+                        .compute())
+                .collect(Collectors.toList());
+    }
+
     /**
      * Given the index i of a share \(s_i\), determines which share receiver that share belongs to.
      *
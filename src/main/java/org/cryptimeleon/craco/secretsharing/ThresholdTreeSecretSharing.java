@@ -12,7 +12,9 @@ import org.cryptimeleon.math.serialization.annotations.Represented;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * A {@link ThresholdTreeSecretSharing} is a {@link LinearSecretSharing} which shares a secret not only among a single
@@ -24,6 +26,12 @@ import java.util.stream.Collectors;
  */
 public class ThresholdTreeSecretSharing implements LinearSecretSharing<Policy>, StandaloneRepresentable {
 
+    /**
+     * Minimum number of shares of a subtree for the subtrees of its children to be processed in parallel
+     * by {@link #getShares(Zp.ZpElement)} and {@link #completeShares(Zp.ZpElement, Map)}.
+     */
+    public static final int PARALLEL_SHARING_THRESHOLD = 32;
+
     @Represented
     private SecretSharingSchemeProvider lsssInstanceProvider;
     @Represented
@@ -97,39 +105,187 @@ public class ThresholdTreeSecretSharing implements LinearSecretSharing<Policy>,
         throw new IllegalArgumentException(policy.getClass().getName() + " is not a supported policy type");
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The subtrees of the children of inner nodes with at least {@link #PARALLEL_SHARING_THRESHOLD} shares are
+     * shared in parallel.
+     */
     @Override
     public Map<Integer, Zp.ZpElement> getShares(Zp.ZpElement secret) throws WrongAccessStructureException {
-        Map<Integer, Zp.ZpElement> shares = new HashMap<>(secretSharingTree.getNumberOfShares());
-        collectShares(secretSharingTree, secret, shares);
-        return shares;
+        Zp.ZpElement[] shares = new Zp.ZpElement[secretSharingTree.getNumberOfShares()];
+        collectShares(secretSharingTree, secret, shares, 0);
+        return toShareMap(shares);
     }
 
     /**
-     * Recursively walks the given tree and fills the given map of shares.
+     * Recursively walks the given tree and fills the given array of shares.
      * For each inner node the corresponding lsss is used to generate the inner secrets for its immediate children.
-     * Once a leaf is found, a new index is chosen and the given secret is stored in the currentShares map.
+     * Once a leaf is found, the given secret is stored at the leaf's position in the currentShares array.
+     * <p>
+     * Since every subtree writes to its own range of the array, the children of large inner nodes are processed in
+     * parallel on the common fork-join pool.
      *
      * @param treeNode      root node of the tree to share the secret among
      * @param secret        the secret to share
-     * @param currentShares map of shares to fill
+     * @param currentShares array of shares to fill, the share with id i is stored at index i-1
+     * @param shareIdOffset number of shares preceding the given tree node
      */
-    private void collectShares(SecretSharingTreeNode treeNode, Zp.ZpElement secret, Map<Integer,
-            Zp.ZpElement> currentShares) {
+    private void collectShares(SecretSharingTreeNode treeNode, Zp.ZpElement secret, Zp.ZpElement[] currentShares,
+                               int shareIdOffset) {
         if (treeNode instanceof InnerSecretSharingNode) {
             InnerSecretSharingNode innerNode = (InnerSecretSharingNode) treeNode;
             Map<Integer, Zp.ZpElement> shares = innerNode.getLsss().getShares(secret);
-            for (int i = 1; i <= innerNode.getNumberOfChildren(); i++) {
-                collectShares(innerNode.getChildren().get(i - 1), shares.get(i), currentShares);
-            }
+            childIndices(innerNode).forEach(i -> collectShares(innerNode.getChildren().get(i), shares.get(i + 1),
+                    currentShares, shareIdOffset + innerNode.getChildShareIdOffset(i)));
+        } else if (treeNode instanceof LeafSecretSharingNode) {
+            currentShares[shareIdOffset] = secret;
+        } else {
+            throw new IllegalArgumentException(treeNode.getClass().getName() +
+                    " is not a supported SecretSharingTreeNode type");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Walks the tree only once, sharing all secrets at each inner node with its lsss at once
+     * (see {@link LinearSecretSharing#getShares(List)}).
+     */
+    @Override
+    public Map<Integer, Zp.ZpElement[]> getShares(List<Zp.ZpElement> secrets) throws WrongAccessStructureException {
+        Zp.ZpElement[][] shares = new Zp.ZpElement[secretSharingTree.getNumberOfShares()][];
+        collectShares(secretSharingTree, secrets, shares, 0);
+        return toShareMap(shares);
+    }
+
+    /**
+     * Like {@link #collectShares(SecretSharingTreeNode, Zp.ZpElement, Zp.ZpElement[], int)},
+     * but for many secrets at once.
+     *
+     * @param treeNode      root node of the tree to share the secrets among
+     * @param secrets       the secrets to share
+     * @param currentShares array of shares to fill, the shares with id i are stored at index i-1
+     * @param shareIdOffset number of shares preceding the given tree node
+     */
+    private void collectShares(SecretSharingTreeNode treeNode, List<Zp.ZpElement> secrets,
+                               Zp.ZpElement[][] currentShares, int shareIdOffset) {
+        if (treeNode instanceof InnerSecretSharingNode) {
+            InnerSecretSharingNode innerNode = (InnerSecretSharingNode) treeNode;
+            Map<Integer, Zp.ZpElement[]> shares = innerNode.getLsss().getShares(secrets);
+            childIndices(innerNode).forEach(i -> collectShares(innerNode.getChildren().get(i),
+                    Arrays.asList(shares.get(i + 1)), currentShares,
+                    shareIdOffset + innerNode.getChildShareIdOffset(i)));
         } else if (treeNode instanceof LeafSecretSharingNode) {
-            int index = currentShares.size() + 1;
-            currentShares.put(index, secret);
+            currentShares[shareIdOffset] = secrets.toArray(new Zp.ZpElement[0]);
         } else {
             throw new IllegalArgumentException(treeNode.getClass().getName() +
                     " is not a supported SecretSharingTreeNode type");
         }
     }
 
+    /**
+     * Returns the (0-based) indices of the children of the given node, as a parallel stream if the node has at
+     * least {@link #PARALLEL_SHARING_THRESHOLD} shares.
+     */
+    private static IntStream childIndices(InnerSecretSharingNode innerNode) {
+        IntStream indices = IntStream.range(0, innerNode.getNumberOfChildren());
+        return innerNode.getNumberOfShares() >= PARALLEL_SHARING_THRESHOLD ? indices.parallel() : indices;
+    }
+
+    private static <T> Map<Integer, T> toShareMap(T[] shares) {
+        Map<Integer, T> result = new HashMap<>(shares.length);
+        for (int i = 0; i < shares.length; i++) {
+            result.put(i + 1, shares[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Adapts a complete set of shares of this scheme to the given updated scheme, which differs from this scheme
+     * in a single subtree (e.g. a leaf was replaced or the threshold of an inner node was changed).
+     * <p>
+     * The smallest subtree containing all differences is located, its secret is reconstructed from the given shares
+     * and shared anew among the corresponding subtree of the updated scheme.
+     * All shares outside of that subtree are kept (with their ids shifted if the number of shares in the subtree
+     * changed), so the shared secret stays the same.
+     * If a leaf was replaced, the subtree of its parent is re-shared, hence the share of the replaced leaf becomes
+     * useless.
+     *
+     * @param shares         a complete set of shares of this scheme
+     * @param updatedSharing the updated scheme
+     * @return a complete set of shares of the updated scheme for the same secret
+     * @throws IllegalArgumentException if the updated scheme uses a different field
+     * @throws NoSatisfyingSet          if the given shares do not suffice to reconstruct the secret of the subtree
+     */
+    public Map<Integer, Zp.ZpElement> updateShares(Map<Integer, Zp.ZpElement> shares,
+                                                   ThresholdTreeSecretSharing updatedSharing) {
+        if (!field.equals(updatedSharing.field)) {
+            throw new IllegalArgumentException("The updated secret sharing needs to use the same field");
+        }
+        if (rootThresholdPolicy.equals(updatedSharing.rootThresholdPolicy)) {
+            return new HashMap<>(shares);
+        }
+
+        // descend as long as exactly one inner child differs
+        InnerSecretSharingNode oldNode = secretSharingTree;
+        InnerSecretSharingNode newNode = updatedSharing.secretSharingTree;
+        int shareIdOffset = 0;
+        int changedChild = findChangedInnerChild(oldNode, newNode);
+        while (changedChild >= 0) {
+            shareIdOffset += oldNode.getChildShareIdOffset(changedChild);
+            oldNode = (InnerSecretSharingNode) oldNode.getChildren().get(changedChild);
+            newNode = (InnerSecretSharingNode) newNode.getChildren().get(changedChild);
+            changedChild = findChangedInnerChild(oldNode, newNode);
+        }
+
+        Zp.ZpElement subtreeSecret = reconstructInnerSecret(shares, shareIdOffset, oldNode);
+        Zp.ZpElement[] subtreeShares = new Zp.ZpElement[newNode.getNumberOfShares()];
+        collectShares(newNode, subtreeSecret, subtreeShares, 0);
+
+        int oldSubtreeEnd = shareIdOffset + oldNode.getNumberOfShares();
+        int shift = newNode.getNumberOfShares() - oldNode.getNumberOfShares();
+        Map<Integer, Zp.ZpElement> updatedShares = new HashMap<>(updatedSharing.secretSharingTree.getNumberOfShares());
+        for (Map.Entry<Integer, Zp.ZpElement> share : shares.entrySet()) {
+            if (share.getKey() <= shareIdOffset) {
+                updatedShares.put(share.getKey(), share.getValue());
+            } else if (share.getKey() > oldSubtreeEnd) {
+                updatedShares.put(share.getKey() + shift, share.getValue());
+            }
+        }
+        for (int i = 0; i < subtreeShares.length; i++) {
+            updatedShares.put(shareIdOffset + i + 1, subtreeShares[i]);
+        }
+        return updatedShares;
+    }
+
+    /**
+     * Checks whether the given nodes have the same threshold and number of children and differ in exactly one child,
+     * which is an inner node in both trees.
+     *
+     * @return the (0-based) index of the differing child, or -1 if there is no such child
+     */
+    private static int findChangedInnerChild(InnerSecretSharingNode oldNode, InnerSecretSharingNode newNode) {
+        if (oldNode.getPolicy().getThreshold() != newNode.getPolicy().getThreshold()
+                || oldNode.getNumberOfChildren() != newNode.getNumberOfChildren()) {
+            return -1;
+        }
+        int changedChild = -1;
+        for (int i = 0; i < oldNode.getNumberOfChildren(); i++) {
+            if (!oldNode.getChildren().get(i).getPolicy().equals(newNode.getChildren().get(i).getPolicy())) {
+                if (changedChild >= 0) {
+                    return -1;
+                }
+                changedChild = i;
+            }
+        }
+        if (changedChild >= 0 && oldNode.getChildren().get(changedChild) instanceof InnerSecretSharingNode
+                && newNode.getChildren().get(changedChild) instanceof InnerSecretSharingNode) {
+            return changedChild;
+        }
+        return -1;
+    }
+
     @Override
     public Map<Integer, Zp.ZpElement> getSolvingVector(Set<? extends Policy> setOfShareReceivers) throws
             NoSatisfyingSet, WrongAccessStructureException {
@@ -306,9 +462,10 @@ public class ThresholdTreeSecretSharing implements LinearSecretSharing<Policy>,
         Set<SecretSharingTreeNode> setOfQualifiedNodes = new HashSet<>();
         findQualifiedNodes(secretSharingTree, partialShares.keySet(), 0, setOfQualifiedNodes);
 
-        Map<Integer, Zp.ZpElement> completedShares = new HashMap<>(partialShares);
+        // subtrees are completed in parallel, each of them only touching the shares within its range
+        Map<Integer, Zp.ZpElement> completedShares = new ConcurrentHashMap<>(partialShares);
         completeSharesForChildren(secretSharingTree, secret, completedShares, 0, setOfQualifiedNodes);
-        return completedShares;
+        return new HashMap<>(completedShares);
     }
 
     /**
@@ -396,6 +553,7 @@ public class ThresholdTreeSecretSharing implements LinearSecretSharing<Policy>,
      * @param root                root node of the subtree to complete
      * @param secret              secret to reconstruct with the completed shares
      * @param completedShares     resulting complete set of shares, initially consisting of the partial set of shares
+     *                            (needs to support concurrent updates)
      * @param shareIdOffset       offset to be considered to map the actual share id to the child id of the root
      * @param setOfQualifiedNodes all nodes in the tree, which are qualified with respect to the partial set of shares
      */
@@ -441,35 +599,33 @@ public class ThresholdTreeSecretSharing implements LinearSecretSharing<Policy>,
 
         availableShares = root.getLsss().completeShares(secret, availableShares);
 
-        offset = shareIdOffset;
-        for (int i = 0; i < children.size(); i++) {
+        Map<Integer, Zp.ZpElement> completedChildShares = availableShares;
+        childIndices(root).forEach(i -> {
             SecretSharingTreeNode node = children.get(i);
+            int childShareIdOffset = shareIdOffset + root.getChildShareIdOffset(i);
             if (node instanceof LeafSecretSharingNode) {
                 if (!qualifiedChildren.contains(i + 1)) {
                     //The current leaf node can only be associated to a share with id 1
                     //larger then the previously seen shares (indicated by the offset)
-                    int possibleShareId = offset + 1;
+                    int possibleShareId = childShareIdOffset + 1;
                     if (completedShares.containsKey(possibleShareId)) {
                         throw new WrongAccessStructureException("A leaf is marked as not qualified but its share is " +
                                 "present");
                     }
-                    completedShares.put(possibleShareId, availableShares.get(i + 1));
+                    completedShares.put(possibleShareId, completedChildShares.get(i + 1));
                 }
-                offset++;
             } else if (node instanceof InnerSecretSharingNode) {
                 InnerSecretSharingNode innerNode = (InnerSecretSharingNode) node;
 
-                Zp.ZpElement partialSecret = availableShares.get(i + 1);
-
-                completeSharesForChildren(innerNode, partialSecret, completedShares, offset, setOfQualifiedNodes);
-
-                offset += innerNode.getNumberOfShares();
+                Zp.ZpElement partialSecret = completedChildShares.get(i + 1);
 
+                completeSharesForChildren(innerNode, partialSecret, completedShares, childShareIdOffset,
+                        setOfQualifiedNodes);
             } else {
                 throw new IllegalArgumentException(root.getClass().getName() +
                         " is not a supported SecretSharingTreeNode type");
             }
-        }
+        });
 
     }
 
@@ -1,14 +1,13 @@
 package org.cryptimeleon.craco.secretsharing.accessstructure;
 
+import org.cryptimeleon.craco.common.policies.CompiledPolicy;
 import org.cryptimeleon.craco.common.policies.Policy;
 import org.cryptimeleon.craco.common.policies.PolicyFact;
 import org.cryptimeleon.craco.secretsharing.LinearSecretSharing;
 import org.cryptimeleon.craco.secretsharing.accessstructure.exceptions.WrongAccessStructureException;
 import org.cryptimeleon.craco.secretsharing.accessstructure.utils.PolicyToTreeNodeConverter;
 import org.cryptimeleon.craco.secretsharing.accessstructure.utils.TreeNode;
-import org.cryptimeleon.craco.secretsharing.accessstructure.visitors.AccessGrantedVisitor;
 import org.cryptimeleon.craco.secretsharing.accessstructure.visitors.ToStringVisitor;
-import org.cryptimeleon.craco.secretsharing.accessstructure.visitors.Visitor;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.util.HashMap;
@@ -41,6 +40,11 @@ public abstract class AccessStructure implements LinearSecretSharing<PolicyFact>
      */
     protected HashMap<Integer, PolicyFact> shareReceivers;
 
+    /**
+     * The policy compiled for fast evaluation in {@link #isQualified(Set)}.
+     */
+    protected CompiledPolicy compiledPolicy;
+
     /**
      * Constructs the access structure from {@code policy} to share over {@code field}.
      */
@@ -49,14 +53,12 @@ public abstract class AccessStructure implements LinearSecretSharing<PolicyFact>
         PolicyToTreeNodeConverter converter = new PolicyToTreeNodeConverter(policy);
         shareReceivers = converter.getShareReceiverMap();
         thresholdTree = converter.getTree();
+        compiledPolicy = new CompiledPolicy(policy);
     }
 
     @Override
     public boolean isQualified(Set<? extends PolicyFact> setOfShareReceivers) throws WrongAccessStructureException {
-        Set<Integer> shares = getSharesOfReceivers(setOfShareReceivers);
-        Visitor<Boolean> visitor = new AccessGrantedVisitor(shares);
-        thresholdTree.performVisitor(visitor);
-        return visitor.getResultOfCurrentNode();
+        return compiledPolicy.isFulfilled(setOfShareReceivers);
     }
 
     @Override
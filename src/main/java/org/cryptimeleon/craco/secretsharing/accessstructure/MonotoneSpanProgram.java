@@ -4,24 +4,76 @@ import org.cryptimeleon.craco.common.policies.Policy;
 import org.cryptimeleon.craco.common.policies.PolicyFact;
 import org.cryptimeleon.craco.secretsharing.accessstructure.exceptions.NoSatisfyingSet;
 import org.cryptimeleon.craco.secretsharing.accessstructure.exceptions.WrongAccessStructureException;
-import org.cryptimeleon.craco.secretsharing.accessstructure.utils.ComparablePair;
-import org.cryptimeleon.craco.secretsharing.accessstructure.utils.TreeNode;
-import org.cryptimeleon.craco.secretsharing.accessstructure.visitors.MinimalFulfillingSubsetVisitor;
+import org.cryptimeleon.craco.secretsharing.accessstructure.utils.MinimalFulfillingSubsetFinder;
+import org.cryptimeleon.craco.secretsharing.accessstructure.utils.SparseGaussianElimination;
+import org.cryptimeleon.craco.secretsharing.accessstructure.utils.SparseMatrix;
 import org.cryptimeleon.craco.secretsharing.accessstructure.visitors.MonotoneSpanProgramGetMatrixVisitor;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Access structure realized by using monotone span programs.
  */
 public class MonotoneSpanProgram extends AccessStructure {
 
+    /**
+     * Strategies for choosing the shares used for reconstruction in {@link #getSolvingVector(Set, SubsetStrategy)}.
+     */
+    public enum SubsetStrategy {
+        /**
+         * Minimizes the number of shares, i.e. the number of non-zero entries of the solving vector.
+         */
+        MINIMAL_SHARES,
+        /**
+         * Minimizes the number of non-zero matrix entries in the rows of the chosen shares, i.e. the work needed
+         * to compute the solving vector. Prefers shares of leaves close to the root.
+         */
+        MINIMAL_MATRIX_ENTRIES
+    }
+
+    /**
+     * The monotone span program matrix, generated on first use (see {@link #getMatrix()}).
+     * Row i belongs to share i.
+     */
+    private volatile SparseMatrix matrix;
+
+    /**
+     * Memoizing subset finders for each strategy, created on first use.
+     */
+    private final Map<SubsetStrategy, MinimalFulfillingSubsetFinder> subsetFinders =
+            new ConcurrentHashMap<>();
+
     public MonotoneSpanProgram(Policy policy, Zp field) {
         super(policy, field);
     }
 
+    /**
+     * Returns the monotone span program matrix of this instance.
+     * It is generated from the threshold tree only once and then reused for sharing and solving.
+     *
+     * @return the matrix with one row per share
+     * @throws WrongAccessStructureException if monotone span program matrix generation fails
+     */
+    public SparseMatrix getMatrix() throws WrongAccessStructureException {
+        SparseMatrix result = matrix;
+        if (result == null) {
+            synchronized (this) {
+                result = matrix;
+                if (result == null) {
+                    ArrayList<ArrayList<ZpElement>> rows = new ArrayList<>();
+                    int numberOfColumns = generateMatrix(rows);
+                    result = new SparseMatrix(field, rows, numberOfColumns);
+                    matrix = result;
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Calculates shares for the given secret.
      *
@@ -31,26 +83,18 @@ public class MonotoneSpanProgram extends AccessStructure {
      */
     @Override
     public Map<Integer, ZpElement> getShares(ZpElement secret) throws WrongAccessStructureException {
-        ArrayList<ArrayList<ZpElement>> matrix = new ArrayList<>();
-        int size = generateMatrix(matrix);
-        ArrayList<ZpElement> randomVector = new ArrayList<>();
-        randomVector.add(secret);
+        SparseMatrix matrix = getMatrix();
+        ZpElement[] randomVector = new ZpElement[matrix.getNumberOfColumns()];
+        randomVector[0] = secret;
 
-        for (int counter = 1; counter < size; counter++) {
-            randomVector.add(field.getUniformlyRandomElement());
+        for (int counter = 1; counter < randomVector.length; counter++) {
+            randomVector[counter] = field.getUniformlyRandomElement();
         }
 
+        ZpElement[] shares = matrix.multiply(randomVector);
         HashMap<Integer, ZpElement> result = new HashMap<>();
-        int counter = 0;
-
-        for (ArrayList<ZpElement> row : matrix) {
-            Iterator<ZpElement> iteratorVector = randomVector.iterator();
-            ZpElement value = field.getZeroElement();
-            for (ZpElement entry : row) {
-                value = value.add(entry.mul(iteratorVector.next()));
-            }
-            result.put(counter, value);
-            counter++;
+        for (int counter = 0; counter < shares.length; counter++) {
+            result.put(counter, shares[counter]);
         }
 
         return result;
@@ -63,12 +107,14 @@ public class MonotoneSpanProgram extends AccessStructure {
      * @throws WrongAccessStructureException if monotone span program matrix generation fails
      */
     public int getNumberOfColumns() throws WrongAccessStructureException {
-        ArrayList<ArrayList<ZpElement>> convert = new ArrayList<>();
-        return generateMatrix(convert);
+        return getMatrix().getNumberOfColumns();
     }
 
     /**
      * Calculates set of solving secret shares for this monotone span program.
+     * <p>
+     * The solving vector is computed with {@link SparseGaussianElimination} on the rows of a minimal fulfilling
+     * subset of the given parties.
      *
      * @param setOfParties the set of share-holding parties to consider
      * @return a fulfilling map mapping each share index to the share field element
@@ -78,42 +124,69 @@ public class MonotoneSpanProgram extends AccessStructure {
     @Override
     public Map<Integer, ZpElement> getSolvingVector(
             Set<? extends PolicyFact> setOfParties) throws NoSatisfyingSet, WrongAccessStructureException {
+        return getSolvingVector(setOfParties, SubsetStrategy.MINIMAL_SHARES);
+    }
 
-        // at first identify the minimal number of rows that are necessary to
-        // reconstruct the secret
-        MinimalFulfillingSubsetVisitor minimalSubsetVisitor =
-                new MinimalFulfillingSubsetVisitor(getSharesOfReceivers(setOfParties));
-        TreeNode tree = thresholdTree;
-        ComparablePair<Integer, ArrayList<Integer>> fulfillingSet = tree.performVisitor(minimalSubsetVisitor);
+    /**
+     * Calculates set of solving secret shares for this monotone span program, using the given strategy to choose
+     * the shares used for reconstruction.
+     *
+     * @param setOfParties the set of share-holding parties to consider
+     * @param strategy how to choose the shares that are used
+     * @return a fulfilling map mapping each share index to the share field element
+     * @throws NoSatisfyingSet if the given set of parties cannot satisfy the monotone span program
+     * @throws WrongAccessStructureException if the access structure is invalid
+     */
+    public Map<Integer, ZpElement> getSolvingVector(Set<? extends PolicyFact> setOfParties, SubsetStrategy strategy)
+            throws NoSatisfyingSet, WrongAccessStructureException {
+        List<Integer> rows = getMinimalFulfillingRows(setOfParties, strategy);
+
+        Map<Integer, ZpElement> result = SparseGaussianElimination.solveForFirstUnitVector(getMatrix(), rows);
+        // rows that are not needed for the combination get coefficient zero
+        for (Integer id : rows) {
+            result.putIfAbsent(id, field.getZeroElement());
+        }
+        return result;
+    }
 
-        if (fulfillingSet.getFirst() == 0)
+    /**
+     * Identifies the rows that are necessary to reconstruct the secret, minimal with respect to the given strategy.
+     *
+     * @param setOfParties the set of share-holding parties to consider
+     * @param strategy how to choose the rows
+     * @return the indices of the rows
+     * @throws NoSatisfyingSet if the given set of parties cannot satisfy the monotone span program
+     */
+    private List<Integer> getMinimalFulfillingRows(Set<? extends PolicyFact> setOfParties, SubsetStrategy strategy)
+            throws NoSatisfyingSet, WrongAccessStructureException {
+        int[] rows = getSubsetFinder(strategy).find(getSharesOfReceivers(setOfParties));
+        if (rows == null)
             throw new NoSatisfyingSet("Given set does not satisfy the access structure");
 
-        int numberOfRows = fulfillingSet.getFirst();
-
-        ArrayList<ArrayList<ZpElement>> convert = new ArrayList<>();
-        ZpElement[][] matrix = convertRepresentationOfMatrix(generateMatrix(convert), convert);
-
-        // calculate the submatrix
-        ZpElement[][] submatrix = new ZpElement[numberOfRows][];
-        Integer[] labeling = new Integer[numberOfRows];
-
-        int counter = 0;
-        for (Integer id : fulfillingSet.getSecond()) {
-            labeling[counter] = id;
-            submatrix[counter++] = matrix[id];
-        }
-
-        ZpElement[] vector = calculateSolvingVector(submatrix);
+        return Arrays.stream(rows).boxed().collect(Collectors.toList());
+    }
 
-        HashMap<Integer, ZpElement> result = new HashMap<>();
-        int i = 0;
-        for (ZpElement ele : vector) {
-            result.put(labeling[i], ele);
-            i++;
+    private MinimalFulfillingSubsetFinder getSubsetFinder(SubsetStrategy strategy)
+            throws WrongAccessStructureException {
+        MinimalFulfillingSubsetFinder finder = subsetFinders.get(strategy);
+        if (finder == null) {
+            switch (strategy) {
+                case MINIMAL_SHARES:
+                    finder = new MinimalFulfillingSubsetFinder(thresholdTree);
+                    break;
+                case MINIMAL_MATRIX_ENTRIES:
+                    SparseMatrix matrix = getMatrix();
+                    finder = new MinimalFulfillingSubsetFinder(thresholdTree, matrix::getNumberOfNonZeroEntries);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown strategy " + strategy);
+            }
+            MinimalFulfillingSubsetFinder existing = subsetFinders.putIfAbsent(strategy, finder);
+            if (existing != null) {
+                finder = existing;
+            }
         }
-
-        return result;
+        return finder;
     }
 
     /**
@@ -126,129 +199,20 @@ public class MonotoneSpanProgram extends AccessStructure {
      * @throws WrongAccessStructureException if monotone span program matrix generation fails
      */
     public String toStringFor3DigitsGates() throws WrongAccessStructureException {
-        ArrayList<ArrayList<ZpElement>> matrix = new ArrayList<>();
-        int size = generateMatrix(matrix);
+        SparseMatrix matrix = getMatrix();
         String output = "";
 
-        int rowCounter = 0;
-        int columnCounter = 0;
-
-        for (ArrayList<ZpElement> row : matrix) {
-            columnCounter = 0;
+        for (int rowCounter = 0; rowCounter < matrix.getNumberOfRows(); rowCounter++) {
             output = output.concat("( ");
-            for (ZpElement entry : row) {
-                columnCounter++;
+            for (ZpElement entry : matrix.getDenseRow(rowCounter)) {
                 output = output.concat(String.format("%3d ", entry.asInteger().shortValue()));
             }
-
-            for (; columnCounter <= size; columnCounter++) {
-                output = output.concat(String.format("%3d ", 0));
-            }
-            output = output.concat(String.format(") %s\n", shareReceivers.get(rowCounter++).toString()));
+            output = output.concat(String.format(") %s\n", shareReceivers.get(rowCounter).toString()));
         }
 
         return output;
     }
 
-    /**
-     * This method gets a <code>matrix</code> and returns a vector v such that v
-     * * matrix = (1,0,...,0).
-     *
-     * @param matrix the matrix to calculate solving vector for
-     * @return the solving vector
-     * @throws NoSatisfyingSet if no such vector v exists
-     */
-    private ZpElement[] calculateSolvingVector(ZpElement[][] matrix) throws NoSatisfyingSet {
-        int numberOfRows = matrix.length;
-        int numberOfColumns = matrix[0].length;
-        int counterRows = 0;
-        int counterColumns = numberOfColumns - 1;
-
-        // vectors contains the combination of the different rows of the input
-        // matrix, that leads to the corresponding row in matrix
-        ZpElement[][] vectors = new ZpElement[numberOfRows][];
-
-        for (int i = 0; i < numberOfRows; i++) {
-            ZpElement[] vector = new ZpElement[numberOfRows];
-            for (int j = 0; j < numberOfRows; j++) {
-                if (j == i)
-                    vector[j] = field.getOneElement();
-                else
-                    vector[j] = field.getZeroElement();
-            }
-            vectors[i] = vector;
-        }
-
-        // Gauss is applied
-        while ((counterRows != numberOfRows) && (counterColumns != -1)) {
-
-            if (matrix[counterRows][counterColumns].equals(field.getZeroElement())) {
-                int i = counterRows + 1;
-                while (i < numberOfRows) {
-                    if (!matrix[i][counterColumns].equals(field.getZeroElement())) {
-                        break;
-                    }
-                    i++;
-                }
-                if (i == numberOfRows) {
-                    counterColumns--;
-                    continue;
-                }
-                swapRows(vectors, matrix, i, counterRows);
-            }
-
-            for (int j = (counterRows + 1); j < numberOfRows; j++) {
-                subtractRowIFromRowJ(vectors, matrix, counterColumns, counterRows, j);
-            }
-
-            counterColumns--;
-            counterRows++;
-        }
-
-        counterRows--;
-
-        if ((counterColumns != -1) || (matrix[counterRows][0].equals(field.getZeroElement())))
-            throw new NoSatisfyingSet("Given set does not satisfy the access structure");
-
-        for (int k = 0; k < vectors[0].length; k++) {
-            vectors[counterRows][k] = (ZpElement) vectors[counterRows][k].div(matrix[counterRows][0]);
-        }
-
-        return vectors[counterRows];
-
-    }
-
-    /**
-     * Change the representation of the matrix from a 2 dimensional {@code ArrayList} to
-     * a 2-dimensional array. Allows expanding the number of columns of the converted matrix.
-     * Added columns are filled with zeros.
-     *
-     * @param size number of columns of the resulting array
-     * @param matrix matrix to convert
-     * @return two dimensional array containing the elements of the given matrix with additional columns added using the
-     *         {@code size} parameter filled with zeros.
-     */
-    private ZpElement[][] convertRepresentationOfMatrix(int size, ArrayList<ArrayList<ZpElement>> matrix) {
-        int i = 0;
-        int j = 0;
-        ZpElement[][] result = new ZpElement[matrix.size()][size];
-        ZpElement zero = field.getZeroElement();
-
-        for (ArrayList<ZpElement> row : matrix) {
-            j = 0;
-            for (ZpElement entry : row) {
-                result[i][j] = entry;
-                j++;
-            }
-            for (; j < size; j++) {
-                zero = field.getZeroElement();
-                result[i][j] = zero;
-            }
-            i++;
-        }
-        return result;
-    }
-
     /**
      * Generates the matrix for the access structure represented by this instance.
      * The matrix is stored in the input parameter <code>matrix</code> and the
@@ -268,42 +232,6 @@ public class MonotoneSpanProgram extends AccessStructure {
         return visitor.getResultOfCurrentNode() + 1;
     }
 
-    /**
-     * Takes the given {@code matrix} and subtracts row {@code i} from row {@code j}.
-     * The subtrahend is scaled such that the resulting value in column {@code column} of row {@code j} is zero.
-     * For example, for {@code i = 0, j = 1, column = 2} and a matrix {@code A} with {@code A(0,2) = 3, A(1,2) = 6},
-     * the scaling factor is {@code 6/3 = 2}. Hence, the resulting matrix {@code A'} will have value
-     * {@code A'(1,2) = 6 - 2 * 3 = 0}.
-     * The same is done for the given {@code vectors} matrix although the scaling factor calculated from {@code matrix}
-     * is reused.
-     */
-    private void subtractRowIFromRowJ(ZpElement[][] vectors, ZpElement[][] matrix, int column, int i, int j) {
-        ZpElement factor = (ZpElement) field.getOneElement().div(matrix[i][column]).mul(matrix[j][column]);
-
-        for (int k = 0; k < vectors[0].length; k++) {
-            vectors[j][k] = (ZpElement) vectors[j][k].sub(factor.mul(vectors[i][k]));
-        }
-
-        for (int k = 0; k < matrix[0].length; k++) {
-            matrix[j][k] = (ZpElement) matrix[j][k].sub(factor.mul(matrix[i][k]));
-        }
-
-    }
-
-    /**
-     * Swap rows {@code i} and {@code j} in both {@code matrix} and {@code vectors}.
-     */
-    private void swapRows(ZpElement[][] vectors, ZpElement[][] matrix, int i, int j) {
-        ZpElement[] tempVector = vectors[i];
-        ZpElement[] tempRow = matrix[i];
-
-        vectors[i] = vectors[j];
-        matrix[i] = matrix[j];
-
-        vectors[j] = tempVector;
-        matrix[j] = tempRow;
-    }
-
     public HashMap<Integer, PolicyFact> getAttributes() {
         return shareReceivers;
     }
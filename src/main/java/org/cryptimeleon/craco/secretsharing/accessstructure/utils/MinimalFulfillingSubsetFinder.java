@@ -0,0 +1,236 @@
+package org.cryptimeleon.craco.secretsharing.accessstructure.utils;
+
+import org.cryptimeleon.craco.secretsharing.accessstructure.exceptions.WrongAccessStructureException;
+import org.cryptimeleon.craco.secretsharing.accessstructure.visitors.MinimalFulfillingSubsetVisitor;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Computes a cheapest subset of the given shares that fulfills a threshold tree, where every share has a cost
+ * and the cost of a subset is the sum of the costs of its shares.
+ * With cost 1 for every share, this computes the same subsets as {@link MinimalFulfillingSubsetVisitor}.
+ * <p>
+ * The tree is flattened into arrays once. Results are memoized per subtree, keyed by the set of held shares
+ * within that subtree, so repeated queries with overlapping sets of shares only recompute the subtrees whose
+ * shares differ. Each subtree keeps at most {@link #MAX_CACHED_RESULTS_PER_NODE} results, after which its cache
+ * is cleared.
+ * <p>
+ * Instances are thread-safe. Later modifications of the tree are not reflected.
+ */
+public class MinimalFulfillingSubsetFinder {
+
+    /**
+     * Maximum number of memoized results per tree node.
+     */
+    public static final int MAX_CACHED_RESULTS_PER_NODE = 1024;
+
+    /**
+     * Result for unfulfilled subtrees.
+     */
+    private static final Subset NOT_FULFILLED = new Subset(Integer.MAX_VALUE, null);
+
+    private final int[] thresholds;
+
+    /**
+     * The share identifier of each leaf, -1 for inner nodes.
+     */
+    private final int[] shareIdentifiers;
+
+    private final int[][] children;
+
+    /**
+     * The share identifiers of all leaves of each subtree.
+     */
+    private final BitSet[] subtreeShares;
+
+    private final int[] shareCosts;
+
+    private final List<Map<BitSet, Subset>> cache;
+
+    /**
+     * Cost and (sorted) share identifiers of a subset.
+     */
+    private static class Subset {
+        private final int cost;
+        private final int[] shares;
+
+        private Subset(int cost, int[] shares) {
+            this.cost = cost;
+            this.shares = shares;
+        }
+    }
+
+    /**
+     * Creates a finder that minimizes the number of shares.
+     *
+     * @param tree the threshold tree
+     * @throws WrongAccessStructureException if an inner node of the tree has threshold 0
+     */
+    public MinimalFulfillingSubsetFinder(TreeNode tree) throws WrongAccessStructureException {
+        this(tree, shareIdentifier -> 1);
+    }
+
+    /**
+     * Creates a finder that minimizes the total cost of the shares.
+     *
+     * @param tree      the threshold tree
+     * @param shareCost maps share identifiers to their (non-negative) cost
+     * @throws WrongAccessStructureException if an inner node of the tree has threshold 0
+     */
+    public MinimalFulfillingSubsetFinder(TreeNode tree, IntUnaryOperator shareCost)
+            throws WrongAccessStructureException {
+        List<TreeNode> nodes = new ArrayList<>();
+        List<int[]> nodeChildren = new ArrayList<>();
+        flatten(tree, nodes, nodeChildren);
+
+        int numberOfNodes = nodes.size();
+        thresholds = new int[numberOfNodes];
+        shareIdentifiers = new int[numberOfNodes];
+        children = nodeChildren.toArray(new int[0][]);
+        subtreeShares = new BitSet[numberOfNodes];
+        cache = new ArrayList<>(numberOfNodes);
+
+        int maxShareIdentifier = -1;
+        // children have larger indices than their parents, so going backwards visits children first
+        for (int i = numberOfNodes - 1; i >= 0; i--) {
+            TreeNode node = nodes.get(i);
+            thresholds[i] = node.getThreshold();
+            subtreeShares[i] = new BitSet();
+            if (node instanceof LeafNode) {
+                shareIdentifiers[i] = ((LeafNode) node).getShareIdentifier();
+                subtreeShares[i].set(shareIdentifiers[i]);
+                maxShareIdentifier = Math.max(maxShareIdentifier, shareIdentifiers[i]);
+            } else {
+                if (thresholds[i] == 0) {
+                    throw new WrongAccessStructureException(
+                            "Tree contains a node with children and Threshold 0. \n 0 is not a valid threshold.");
+                }
+                shareIdentifiers[i] = -1;
+                for (int child : children[i]) {
+                    subtreeShares[i].or(subtreeShares[child]);
+                }
+            }
+        }
+        for (int i = 0; i < numberOfNodes; i++) {
+            cache.add(new ConcurrentHashMap<>());
+        }
+
+        shareCosts = new int[maxShareIdentifier + 1];
+        for (int i = 0; i < shareCosts.length; i++) {
+            shareCosts[i] = shareCost.applyAsInt(i);
+            if (shareCosts[i] < 0) {
+                throw new IllegalArgumentException("Share costs must not be negative");
+            }
+        }
+    }
+
+    /**
+     * Assigns indices to the nodes in pre-order.
+     */
+    private static int flatten(TreeNode node, List<TreeNode> nodes, List<int[]> nodeChildren) {
+        int index = nodes.size();
+        nodes.add(node);
+        nodeChildren.add(null);
+        List<TreeNode> children = node instanceof InnerNode ? ((InnerNode) node).getChildren()
+                : Collections.emptyList();
+        int[] childIndices = new int[children.size()];
+        for (int k = 0; k < children.size(); k++) {
+            childIndices[k] = flatten(children.get(k), nodes, nodeChildren);
+        }
+        nodeChildren.set(index, childIndices);
+        return index;
+    }
+
+    /**
+     * Computes a cheapest subset of the given shares that fulfills the tree.
+     *
+     * @param shares the share identifiers that are available
+     * @return the share identifiers of the subset in ascending order, or {@code null} if the given shares do not
+     *         fulfill the tree
+     */
+    public int[] find(Set<Integer> shares) {
+        BitSet heldShares = new BitSet();
+        shares.stream().filter(share -> share >= 0).forEach(heldShares::set);
+        return find(heldShares);
+    }
+
+    /**
+     * Computes a cheapest subset of the given shares that fulfills the tree.
+     *
+     * @param shares the share identifiers that are available (bit i is set if share i is available)
+     * @return the share identifiers of the subset in ascending order, or {@code null} if the given shares do not
+     *         fulfill the tree
+     */
+    public int[] find(BitSet shares) {
+        Subset result = find(0, shares);
+        return result.shares == null ? null : result.shares.clone();
+    }
+
+    /**
+     * Returns the total cost of the given share identifiers.
+     */
+    public int getCost(int[] shares) {
+        int cost = 0;
+        for (int share : shares) {
+            cost += shareCosts[share];
+        }
+        return cost;
+    }
+
+    private Subset find(int node, BitSet shares) {
+        BitSet key = (BitSet) shares.clone();
+        key.and(subtreeShares[node]);
+        if (key.isEmpty()) {
+            return NOT_FULFILLED;
+        }
+
+        Map<BitSet, Subset> nodeCache = cache.get(node);
+        Subset result = nodeCache.get(key);
+        if (result != null) {
+            return result;
+        }
+
+        if (shareIdentifiers[node] >= 0) {
+            result = new Subset(shareCosts[shareIdentifiers[node]], new int[] {shareIdentifiers[node]});
+        } else {
+            result = findForInnerNode(node, key);
+        }
+
+        if (nodeCache.size() >= MAX_CACHED_RESULTS_PER_NODE) {
+            nodeCache.clear();
+        }
+        nodeCache.put(key, result);
+        return result;
+    }
+
+    /**
+     * Picks the threshold many cheapest fulfilled children.
+     */
+    private Subset findForInnerNode(int node, BitSet shares) {
+        List<Subset> fulfilledChildren = new ArrayList<>();
+        for (int child : children[node]) {
+            Subset childResult = find(child, shares);
+            if (childResult.shares != null) {
+                fulfilledChildren.add(childResult);
+            }
+        }
+        int threshold = thresholds[node];
+        if (fulfilledChildren.size() < threshold) {
+            return NOT_FULFILLED;
+        }
+
+        // stable, so ties are broken by the order of the children
+        fulfilledChildren.sort(Comparator.comparingInt(subset -> subset.cost));
+        int cost = 0;
+        BitSet union = new BitSet();
+        for (Subset subset : fulfilledChildren.subList(0, threshold)) {
+            cost += subset.cost;
+            for (int share : subset.shares) {
+                union.set(share);
+            }
+        }
+        return new Subset(cost, union.stream().toArray());
+    }
+}
@@ -0,0 +1,137 @@
+package org.cryptimeleon.craco.secretsharing.accessstructure.utils;
+
+import org.cryptimeleon.craco.secretsharing.accessstructure.exceptions.NoSatisfyingSet;
+import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
+
+import java.util.*;
+
+/**
+ * Gaussian elimination on the sparse rows of a {@link SparseMatrix}, used to compute solving vectors of monotone
+ * span programs.
+ * <p>
+ * Rows are reduced one after another against the pivot rows found so far, where the pivot of a row is its
+ * non-zero entry with the highest column index. Since the columns of a threshold node in a monotone span program
+ * come after the columns of its ancestors, this eliminates the columns of the deepest subtrees first,
+ * so that rows of different subtrees never interact until their subtrees have been reduced to the shared
+ * prefix columns. This keeps the rows sparse during elimination.
+ * <p>
+ * Every pivot row is normalized once when it is found (one inversion per pivot), afterwards reducing a row only
+ * needs multiplications. Elimination stops as soon as a combination of rows equal to \((1, 0, ..., 0)\) is found.
+ */
+public class SparseGaussianElimination {
+
+    /**
+     * Hidden constructor.
+     */
+    private SparseGaussianElimination() {
+
+    }
+
+    /**
+     * Computes coefficients \(v_i\) such that \(\sum_i v_i \cdot \text{row}_i = (1, 0, ..., 0)\) for the given rows
+     * of {@code matrix}.
+     *
+     * @param matrix the matrix
+     * @param rows the indices of the rows that may be used
+     * @return a map from row index i to \(v_i\) (rows with \(v_i = 0\) may be omitted)
+     * @throws NoSatisfyingSet if \((1, 0, ..., 0)\) is not in the span of the given rows
+     */
+    public static Map<Integer, ZpElement> solveForFirstUnitVector(SparseMatrix matrix, Collection<Integer> rows)
+            throws NoSatisfyingSet {
+        // pivot column -> normalized pivot row (with leading entry 1)
+        Map<Integer, SparseRow> pivots = new HashMap<>();
+
+        for (int rowIndex : rows) {
+            SparseRow row = new SparseRow(matrix, rowIndex);
+
+            while (!row.isZero()) {
+                int column = row.getLeadingColumn();
+                SparseRow pivot = pivots.get(column);
+                if (pivot == null) {
+                    break;
+                }
+                row.subtract(row.getLeadingValue(), pivot);
+            }
+
+            if (row.isZero()) {
+                // linearly dependent on previous rows
+                continue;
+            }
+
+            row.normalize();
+            if (row.getLeadingColumn() == 0) {
+                // the leading entry is the only one, so the row is (1, 0, ..., 0)
+                return row.combination;
+            }
+            pivots.put(row.getLeadingColumn(), row);
+        }
+
+        throw new NoSatisfyingSet("Given set does not satisfy the access structure");
+    }
+
+    /**
+     * A sparse row that is a linear combination of rows of the original matrix.
+     */
+    private static class SparseRow {
+        /**
+         * The non-zero entries of this row by column.
+         */
+        private final TreeMap<Integer, ZpElement> entries = new TreeMap<>();
+
+        /**
+         * The coefficients of the original rows (by row index) that sum up to this row.
+         */
+        private final Map<Integer, ZpElement> combination = new HashMap<>();
+
+        private SparseRow(SparseMatrix matrix, int rowIndex) {
+            int[] columns = matrix.getColumnIndices(rowIndex);
+            ZpElement[] values = matrix.getValues(rowIndex);
+            for (int k = 0; k < columns.length; k++) {
+                entries.put(columns[k], values[k]);
+            }
+            combination.put(rowIndex, matrix.getField().getOneElement());
+        }
+
+        private boolean isZero() {
+            return entries.isEmpty();
+        }
+
+        private int getLeadingColumn() {
+            return entries.lastKey();
+        }
+
+        private ZpElement getLeadingValue() {
+            return entries.lastEntry().getValue();
+        }
+
+        /**
+         * Subtracts {@code factor * other} from this row.
+         */
+        private void subtract(ZpElement factor, SparseRow other) {
+            subtract(entries, factor, other.entries);
+            subtract(combination, factor, other.combination);
+        }
+
+        private static void subtract(Map<Integer, ZpElement> target, ZpElement factor, Map<Integer, ZpElement> other) {
+            for (Map.Entry<Integer, ZpElement> entry : other.entrySet()) {
+                ZpElement subtrahend = factor.mul(entry.getValue());
+                ZpElement current = target.get(entry.getKey());
+                ZpElement result = current == null ? subtrahend.neg() : current.sub(subtrahend);
+                if (result.isZero()) {
+                    target.remove(entry.getKey());
+                } else {
+                    target.put(entry.getKey(), result);
+                }
+            }
+        }
+
+        /**
+         * Scales this row such that its leading entry is one.
+         */
+        private void normalize() {
+            ZpElement inverse = getLeadingValue().inv();
+            entries.replaceAll((column, value) -> value.mul(inverse));
+            combination.replaceAll((row, value) -> value.mul(inverse));
+        }
+    }
+}
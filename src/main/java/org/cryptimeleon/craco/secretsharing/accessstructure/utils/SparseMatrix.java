@@ -0,0 +1,136 @@
+package org.cryptimeleon.craco.secretsharing.accessstructure.utils;
+
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable matrix over {@link Zp} that only stores the non-zero entries of each row,
+ * together with their column indices (in ascending order).
+ * <p>
+ * Monotone span program matrices generated from threshold trees are very sparse (each row only has entries
+ * in the columns of the nodes on the path from the root to its leaf), so this form is much smaller than the
+ * dense matrix and allows for faster matrix-vector products.
+ */
+public class SparseMatrix {
+
+    /**
+     * Field the entries of this matrix belong to.
+     */
+    private final Zp field;
+
+    private final int numberOfColumns;
+
+    /**
+     * columnIndices[i] contains the columns of the non-zero entries of row i.
+     */
+    private final int[][] columnIndices;
+
+    /**
+     * values[i][k] is the entry of row i in column columnIndices[i][k].
+     */
+    private final ZpElement[][] values;
+
+    /**
+     * Creates a sparse matrix from the given (dense) rows.
+     * Rows may be shorter than {@code numberOfColumns}, missing entries are treated as zero.
+     *
+     * @param field           the field the entries belong to
+     * @param rows            the rows of the matrix
+     * @param numberOfColumns the number of columns of the matrix
+     * @throws IllegalArgumentException if a row is longer than {@code numberOfColumns}
+     */
+    public SparseMatrix(Zp field, List<? extends List<ZpElement>> rows, int numberOfColumns) {
+        this.field = field;
+        this.numberOfColumns = numberOfColumns;
+        this.columnIndices = new int[rows.size()][];
+        this.values = new ZpElement[rows.size()][];
+
+        for (int i = 0; i < rows.size(); i++) {
+            List<ZpElement> row = rows.get(i);
+            if (row.size() > numberOfColumns) {
+                throw new IllegalArgumentException("Row " + i + " has more than " + numberOfColumns + " entries");
+            }
+            int[] indices = new int[row.size()];
+            ZpElement[] entries = new ZpElement[row.size()];
+            int nonZero = 0;
+            for (int j = 0; j < row.size(); j++) {
+                if (!row.get(j).isZero()) {
+                    indices[nonZero] = j;
+                    entries[nonZero] = row.get(j);
+                    nonZero++;
+                }
+            }
+            columnIndices[i] = Arrays.copyOf(indices, nonZero);
+            values[i] = Arrays.copyOf(entries, nonZero);
+        }
+    }
+
+    public Zp getField() {
+        return field;
+    }
+
+    public int getNumberOfRows() {
+        return columnIndices.length;
+    }
+
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    /**
+     * Returns the (ascending) column indices of the non-zero entries of the given row.
+     */
+    public int[] getColumnIndices(int row) {
+        return columnIndices[row].clone();
+    }
+
+    /**
+     * Returns the non-zero entries of the given row, in the order given by {@link #getColumnIndices(int)}.
+     */
+    public ZpElement[] getValues(int row) {
+        return values[row].clone();
+    }
+
+    /**
+     * Returns the number of non-zero entries of the given row.
+     */
+    public int getNumberOfNonZeroEntries(int row) {
+        return columnIndices[row].length;
+    }
+
+    /**
+     * Returns the given row with all entries (including zeros).
+     */
+    public ZpElement[] getDenseRow(int row) {
+        ZpElement[] result = new ZpElement[numberOfColumns];
+        Arrays.fill(result, field.getZeroElement());
+        for (int k = 0; k < columnIndices[row].length; k++) {
+            result[columnIndices[row][k]] = values[row][k];
+        }
+        return result;
+    }
+
+    /**
+     * Computes the matrix-vector product of this matrix with the given vector.
+     *
+     * @param vector vector with {@link #getNumberOfColumns()} entries
+     * @return the product, with one entry per row
+     */
+    public ZpElement[] multiply(ZpElement[] vector) {
+        if (vector.length != numberOfColumns) {
+            throw new IllegalArgumentException("Vector must have " + numberOfColumns + " entries");
+        }
+        ZpElement[] result = new ZpElement[columnIndices.length];
+        for (int i = 0; i < columnIndices.length; i++) {
+            ZpElement value = field.getZeroElement();
+            for (int k = 0; k < columnIndices[i].length; k++) {
+                value = value.add(values[i][k].mul(vector[columnIndices[i][k]]));
+            }
+            result[i] = value;
+        }
+        return result;
+    }
+}
@@ -4,6 +4,7 @@ import org.cryptimeleon.craco.secretsharing.accessstructure.AccessStructure;
 import org.cryptimeleon.craco.secretsharing.accessstructure.utils.LeafNode;
 import org.cryptimeleon.craco.secretsharing.accessstructure.utils.TreeNode;
 
+import java.util.BitSet;
 import java.util.Set;
 
 /**
@@ -17,7 +18,7 @@ public class AccessGrantedVisitor implements Visitor<Boolean> {
      * These are the shares that we have and want to compare against the shares required by the node visited by this
      * visitor.
      */
-    private final Set<Integer> setOfShares;
+    private final BitSet setOfShares;
 
     /**
      * Fulfillment threshold of the node visited by this visitor.
@@ -38,10 +39,24 @@ public class AccessGrantedVisitor implements Visitor<Boolean> {
      * @param setOfShareIdentifiers set of share identifiers used to check fulfillment of the node to visit
      */
     public AccessGrantedVisitor(Set<Integer> setOfShareIdentifiers) {
+        this(toBitSet(setOfShareIdentifiers));
+    }
+
+    /**
+     * @param setOfShareIdentifiers set of share identifiers used to check fulfillment of the node to visit,
+     *                              where bit i is set if share identifier i is contained in the set
+     */
+    public AccessGrantedVisitor(BitSet setOfShareIdentifiers) {
         this.setOfShares = setOfShareIdentifiers;
         fulfilled = false;
     }
 
+    private static BitSet toBitSet(Set<Integer> setOfShareIdentifiers) {
+        BitSet result = new BitSet();
+        setOfShareIdentifiers.forEach(result::set);
+        return result;
+    }
+
     /**
      * Internal constructor with additional boolean parameter that indicates if
      * this node is needed for the parent node to be fulfilled (saves runtime).
@@ -49,7 +64,7 @@ public class AccessGrantedVisitor implements Visitor<Boolean> {
      * @param setOfShareIdentifiers set of share identifiers used to check fulfillment of the node to visit
      * @param fulfilled initial fulfillment status
      */
-    private AccessGrantedVisitor(Set<Integer> setOfShareIdentifiers, boolean fulfilled) {
+    private AccessGrantedVisitor(BitSet setOfShareIdentifiers, boolean fulfilled) {
         this.setOfShares = setOfShareIdentifiers;
         this.fulfilled = fulfilled;
     }
@@ -97,7 +112,7 @@ public class AccessGrantedVisitor implements Visitor<Boolean> {
         // Check if visited node is a leaf node.
         if (threshold == 0)
             if (currentNode instanceof LeafNode)
-                fulfilled = setOfShares.contains(((LeafNode) currentNode).getShareIdentifier());
+                fulfilled = setOfShares.get(((LeafNode) currentNode).getShareIdentifier());
             else
                 fulfilled = true;
     }
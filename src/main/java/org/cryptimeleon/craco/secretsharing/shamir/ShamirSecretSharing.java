@@ -2,17 +2,18 @@ package org.cryptimeleon.craco.secretsharing.shamir;
 
 import org.cryptimeleon.craco.common.policies.Policy;
 import org.cryptimeleon.craco.common.policies.ThresholdPolicy;
+import org.cryptimeleon.craco.common.utils.BatchInversionUtil;
 import org.cryptimeleon.craco.secretsharing.LinearSecretSharing;
 import org.cryptimeleon.craco.secretsharing.ThresholdTreeSecretSharing;
 import org.cryptimeleon.craco.secretsharing.accessstructure.exceptions.NoSatisfyingSet;
 import org.cryptimeleon.craco.secretsharing.accessstructure.exceptions.WrongAccessStructureException;
-import org.cryptimeleon.math.structures.rings.RingElement;
 import org.cryptimeleon.math.structures.rings.polynomial.PolynomialRing;
 import org.cryptimeleon.math.structures.rings.polynomial.PolynomialRing.Polynomial;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -33,9 +34,26 @@ import java.util.stream.IntStream;
  * {@link ThresholdTreeSecretSharing}.
  */
 public class ShamirSecretSharing implements LinearSecretSharing<Policy> {
+    /**
+     * Number of solving vectors cached per instance unless specified otherwise.
+     */
+    public static final int DEFAULT_SOLVING_VECTOR_CACHE_SIZE = 64;
+
     private ThresholdPolicy policy;
     private Zp field;
 
+    /**
+     * The x-values of the shares, i.e. shareIds[i - 1] is i as an element of {@link #field}.
+     */
+    private final Zp.ZpElement[] shareIds;
+
+    /**
+     * Least recently used cache of solving vectors, keyed by the set of share ids used for reconstruction.
+     */
+    private final Map<BitSet, Map<Integer, Zp.ZpElement>> solvingVectorCache;
+    private final AtomicLong solvingVectorCacheHits = new AtomicLong();
+    private final AtomicLong solvingVectorCacheMisses = new AtomicLong();
+
     /**
      * Create a new {@link ShamirSecretSharing} instance
      *
@@ -43,38 +61,230 @@ public class ShamirSecretSharing implements LinearSecretSharing<Policy> {
      * @param field  {@link Zp} over which the secret shall be shared
      */
     public ShamirSecretSharing(ThresholdPolicy policy, Zp field) {
+        this(policy, field, DEFAULT_SOLVING_VECTOR_CACHE_SIZE);
+    }
+
+    /**
+     * Create a new {@link ShamirSecretSharing} instance
+     *
+     * @param policy {@link ThresholdPolicy} among which children a secret shall be shared
+     * @param field  {@link Zp} over which the secret shall be shared
+     * @param solvingVectorCacheSize maximum number of solving vectors to cache, 0 disables caching
+     */
+    public ShamirSecretSharing(ThresholdPolicy policy, Zp field, int solvingVectorCacheSize) {
+        if (solvingVectorCacheSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative");
+        }
         this.policy = policy;
         this.field = field;
+        this.shareIds = IntStream.rangeClosed(1, policy.getChildren().size())
+                .mapToObj(i -> field.createZnElement(BigInteger.valueOf(i)))
+                .toArray(Zp.ZpElement[]::new);
+        this.solvingVectorCache = new LinkedHashMap<BitSet, Map<Integer, Zp.ZpElement>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BitSet, Map<Integer, Zp.ZpElement>> eldest) {
+                return size() > solvingVectorCacheSize;
+            }
+        };
     }
 
     @Override
     public Map<Integer, Zp.ZpElement> getShares(Zp.ZpElement secret) throws WrongAccessStructureException {
+        checkSecret(secret);
+
+        //The shares are determined by evaluating their respective share id on a random polynomial P with P(0) = s
+        Zp.ZpElement[] shareValues = evaluateRandomPolynomial(secret);
+        Map<Integer, Zp.ZpElement> shares = new HashMap<>(shareValues.length);
+        for (int i = 1; i <= shareValues.length; i++) {
+            shares.put(i, shareValues[i - 1]);
+        }
+
+        return shares;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each secret gets its own random polynomial, which is evaluated at the (precomputed) share ids using
+     * Horner's scheme. Secrets are processed in parallel.
+     */
+    @Override
+    public Map<Integer, Zp.ZpElement[]> getShares(List<Zp.ZpElement> secrets) throws WrongAccessStructureException {
+        secrets.forEach(this::checkSecret);
+
+        Zp.ZpElement[][] sharesPerSecret = secrets.parallelStream()
+                .map(this::evaluateRandomPolynomial)
+                .toArray(Zp.ZpElement[][]::new);
+
+        return transpose(sharesPerSecret);
+    }
+
+    /**
+     * Shares many secrets using packed secret sharing, which needs fewer shares per secret than
+     * {@link #getShares(List)}, but changes the access structure.
+     * <p>
+     * The secrets are split into blocks of {@code packingFactor} secrets. For each block, a random polynomial P of
+     * degree t - 2 + packingFactor is chosen such that \(P(-j) = s_j\) for the j-th secret of the block.
+     * Any t - 1 shares are still independent of the secrets, but reconstruction now requires
+     * t - 1 + packingFactor shares, see {@link #reconstructPacked(Map, int, int)}.
+     * Hence, {@link #isQualified(Set)} and {@link #getSolvingVector(Set)} do not apply to packed shares.
+     *
+     * @param secrets the secrets to share
+     * @param packingFactor number of secrets per polynomial
+     * @return a map from share id i to the array of shares of receiver i, with one entry per block
+     * @throws IllegalArgumentException if there are fewer than t - 1 + packingFactor share receivers
+     */
+    public Map<Integer, Zp.ZpElement[]> getPackedShares(List<Zp.ZpElement> secrets, int packingFactor)
+            throws WrongAccessStructureException {
+        secrets.forEach(this::checkSecret);
+        int threshold = policy.getThreshold();
+        if (packingFactor < 1 || threshold - 1 + packingFactor > shareIds.length) {
+            throw new IllegalArgumentException("Packing factor " + packingFactor + " is not supported for "
+                    + shareIds.length + " share receivers and threshold " + threshold);
+        }
+
+        int numberOfBlocks = (secrets.size() + packingFactor - 1) / packingFactor;
+        Zp.ZpElement[][] sharesPerBlock = IntStream.range(0, numberOfBlocks).parallel()
+                .mapToObj(block -> {
+                    Map<Zp.ZpElement, Zp.ZpElement> dataPoints = new HashMap<>();
+                    for (int j = 0; j < packingFactor; j++) {
+                        int index = block * packingFactor + j;
+                        //pad the last block with zeros
+                        dataPoints.put(getPackedSecretPoint(j),
+                                index < secrets.size() ? secrets.get(index) : field.getZeroElement());
+                    }
+                    for (int i = 1; i < threshold; i++) {
+                        dataPoints.put(shareIds[i - 1], field.getUniformlyRandomElement());
+                    }
+                    PolynomialRing.Polynomial polynomial =
+                            PolynomialRing.getPoly(dataPoints, threshold - 2 + packingFactor);
+                    return Arrays.stream(shareIds)
+                            .map(x -> (Zp.ZpElement) polynomial.evaluate(x))
+                            .toArray(Zp.ZpElement[]::new);
+                })
+                .toArray(Zp.ZpElement[][]::new);
+
+        return transpose(sharesPerBlock);
+    }
+
+    /**
+     * Reconstructs secrets shared with {@link #getPackedShares(List, int)}.
+     *
+     * @param shares at least t - 1 + packingFactor entries of the output of {@link #getPackedShares(List, int)}
+     * @param numberOfSecrets the number of secrets that were shared
+     * @param packingFactor the packing factor used for sharing
+     * @return the secrets
+     * @throws NoSatisfyingSet if there are too few shares
+     */
+    public List<Zp.ZpElement> reconstructPacked(Map<Integer, Zp.ZpElement[]> shares, int numberOfSecrets,
+                                                int packingFactor) throws NoSatisfyingSet {
+        int numberOfSharesNeeded = policy.getThreshold() - 1 + packingFactor;
+        if (shares.size() < numberOfSharesNeeded) {
+            throw new NoSatisfyingSet();
+        }
+        int[] ids = shares.keySet().stream().mapToInt(Integer::intValue).sorted().limit(numberOfSharesNeeded).toArray();
+
+        //Lagrange coefficients for evaluating at the j-th secret point, shared by all blocks
+        List<Map<Integer, Zp.ZpElement>> coefficients = IntStream.range(0, packingFactor)
+                .mapToObj(j -> computeLagrangeCoefficients(ids, getPackedSecretPoint(j)))
+                .collect(Collectors.toList());
+
+        return IntStream.range(0, numberOfSecrets).parallel()
+                .mapToObj(index -> {
+                    Map<Integer, Zp.ZpElement> lambda = coefficients.get(index % packingFactor);
+                    Zp.ZpElement secret = field.getZeroElement();
+                    for (int id : ids) {
+                        secret = secret.add(shares.get(id)[index / packingFactor].mul(lambda.get(id)));
+                    }
+                    return secret;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the point -j at which the j-th secret of a block is embedded in packed secret sharing.
+     */
+    private Zp.ZpElement getPackedSecretPoint(int j) {
+        return field.createZnElement(BigInteger.valueOf(j)).neg();
+    }
+
+    private void checkSecret(Zp.ZpElement secret) throws WrongAccessStructureException {
         if (secret == null || !field.equals(secret.getStructure())) {
             throw new WrongAccessStructureException(secret + " can not be shared over " + field);
         }
+    }
 
-        int numberOfChildren = policy.getChildren().size();
-
+    /**
+     * Chooses a random polynomial P of degree t-1 with P(0) = secret and evaluates it at all share ids.
+     *
+     * @return an array containing P(i) at index i - 1
+     */
+    private Zp.ZpElement[] evaluateRandomPolynomial(Zp.ZpElement secret) {
         //The Polynomial shall be reconstructed using t data points (shares).
         //Therefore we construct a polynomial of degree t-1 using t coefficients.
         //To ensure P(0)=s we fix the first data point (coeff for x^0) to s and choose the remaining at random.
-        RingElement[] coefficients = new RingElement[policy.getThreshold()];
+        Zp.ZpElement[] coefficients = new Zp.ZpElement[policy.getThreshold()];
         coefficients[0] = secret;
         for (int i = 1; i < coefficients.length; i++) {
             coefficients[i] = field.getUniformlyRandomUnit();
         }
-        PolynomialRing.Polynomial polynomial = PolynomialRing.getPoly(coefficients);
 
-        //The shares are determined by evaluating their respective share id on the constructed polynomial
-        Map<Integer, Zp.ZpElement> shares = new HashMap<>(numberOfChildren);
-        for (int i = 1; i <= numberOfChildren; i++) {
-            Zp.ZpElement element = field.createZnElement(BigInteger.valueOf(i));
-            shares.put(i, (Zp.ZpElement) polynomial.evaluate(element));
-        }
+        return evaluatePolynomial(coefficients);
+    }
 
+    /**
+     * Computes the shares defined by the polynomial with the given coefficients, i.e. \(P(i)\) for each share id i,
+     * where \(P(x) = \sum_k \text{coefficients}_k x^k\).
+     * <p>
+     * This is useful for protocols that need to know the polynomial, such as verifiable secret sharing.
+     * The coefficients should be chosen as in {@link #getShares(Zp.ZpElement)}: the secret and t-1 random elements.
+     *
+     * @param coefficients the coefficients of the polynomial, starting with the constant term
+     * @return a map from share id i to \(P(i)\)
+     */
+    public Map<Integer, Zp.ZpElement> getSharesForPolynomial(Zp.ZpElement[] coefficients) {
+        Zp.ZpElement[] shareValues = evaluatePolynomial(coefficients);
+        Map<Integer, Zp.ZpElement> shares = new HashMap<>(shareValues.length);
+        for (int i = 1; i <= shareValues.length; i++) {
+            shares.put(i, shareValues[i - 1]);
+        }
         return shares;
     }
 
+    /**
+     * Evaluates the polynomial with the given coefficients at all share ids.
+     *
+     * @return an array containing P(i) at index i - 1
+     */
+    private Zp.ZpElement[] evaluatePolynomial(Zp.ZpElement[] coefficients) {
+        //Horner's scheme: P(x) = c_0 + x * (c_1 + x * (...))
+        Zp.ZpElement[] result = new Zp.ZpElement[shareIds.length];
+        for (int i = 0; i < shareIds.length; i++) {
+            Zp.ZpElement value = coefficients[coefficients.length - 1];
+            for (int k = coefficients.length - 2; k >= 0; k--) {
+                value = value.mul(shareIds[i]).add(coefficients[k]);
+            }
+            result[i] = value;
+        }
+        return result;
+    }
+
+    /**
+     * Turns an array of share vectors (one per secret) into a map from share id to the shares of that receiver
+     * (one per secret).
+     */
+    private Map<Integer, Zp.ZpElement[]> transpose(Zp.ZpElement[][] sharesPerSecret) {
+        Map<Integer, Zp.ZpElement[]> result = new HashMap<>(shareIds.length);
+        for (int i = 1; i <= shareIds.length; i++) {
+            Zp.ZpElement[] sharesOfReceiver = new Zp.ZpElement[sharesPerSecret.length];
+            for (int j = 0; j < sharesPerSecret.length; j++) {
+                sharesOfReceiver[j] = sharesPerSecret[j][i - 1];
+            }
+            result.put(i, sharesOfReceiver);
+        }
+        return result;
+    }
+
     @Override
     public Map<Integer, Zp.ZpElement> getSolvingVector(
             Set<? extends Policy> setOfShareReceivers) throws NoSatisfyingSet, WrongAccessStructureException {
@@ -97,30 +307,115 @@ public class ShamirSecretSharing implements LinearSecretSharing<Policy> {
      * <p>
      * for the a_i output by this function.
      * </p>
+     * Results are cached per set of indices, see {@link #getSolvingVectorCacheHits()}.
      *
      * @param shareReceiverIds index set of shares to use during interpolation
      * @return a mapping (i -> a_i) s.t. a_i = \prod\limits_{i \neq j}(\frac{-x_j}{x_i-x_j})
      */
     private Map<Integer, Zp.ZpElement> getSolvingVector(Collection<Integer> shareReceiverIds) throws NoSatisfyingSet,
             WrongAccessStructureException {
-        Map<Integer, Zp.ZpElement> solvingVector = new HashMap<>(shareReceiverIds.size());
-        for (int i : shareReceiverIds) {
-            Zp.ZpElement numerator = field.getOneElement();
+        BitSet key = new BitSet();
+        shareReceiverIds.forEach(key::set);
+
+        Map<Integer, Zp.ZpElement> solvingVector;
+        synchronized (solvingVectorCache) {
+            solvingVector = solvingVectorCache.get(key);
+        }
+        if (solvingVector != null) {
+            solvingVectorCacheHits.incrementAndGet();
+            return new HashMap<>(solvingVector);
+        }
+
+        solvingVectorCacheMisses.incrementAndGet();
+        solvingVector = computeLagrangeCoefficients(key.stream().toArray(), field.getZeroElement());
+        synchronized (solvingVectorCache) {
+            solvingVectorCache.put(key, solvingVector);
+        }
+        return new HashMap<>(solvingVector);
+    }
+
+    /**
+     * Computes the Lagrange coefficients for evaluating the polynomial interpolated from the shares
+     * with the given (distinct) indices at {@code point}.
+     * Numerators are computed from prefix and suffix products of the \(point - x_j\),
+     * and all denominators are inverted at once using {@link BatchInversionUtil#batchInvert(Zp.ZpElement[])}.
+     */
+    private Map<Integer, Zp.ZpElement> computeLagrangeCoefficients(int[] ids, Zp.ZpElement point) {
+        int k = ids.length;
+        Zp.ZpElement[] x = new Zp.ZpElement[k];
+        Zp.ZpElement[] negX = new Zp.ZpElement[k];
+        Zp.ZpElement[] pointMinusX = new Zp.ZpElement[k];
+        for (int i = 0; i < k; i++) {
+            x[i] = ids[i] <= shareIds.length ? shareIds[ids[i] - 1] : field.createZnElement(BigInteger.valueOf(ids[i]));
+            negX[i] = x[i].neg();
+            pointMinusX[i] = point.add(negX[i]);
+        }
+
+        // numerators[i] = prod_{j != i} (point - x_j) = (prod_{j < i} ...) * (prod_{j > i} ...)
+        Zp.ZpElement[] numerators = new Zp.ZpElement[k];
+        Zp.ZpElement prefix = field.getOneElement();
+        for (int i = 0; i < k; i++) {
+            numerators[i] = prefix;
+            prefix = prefix.mul(pointMinusX[i]);
+        }
+        Zp.ZpElement suffix = field.getOneElement();
+        for (int i = k - 1; i >= 0; i--) {
+            numerators[i] = numerators[i].mul(suffix);
+            suffix = suffix.mul(pointMinusX[i]);
+        }
+
+        // denominators[i] = prod_{j != i} (x_i - x_j)
+        Zp.ZpElement[] denominators = new Zp.ZpElement[k];
+        for (int i = 0; i < k; i++) {
             Zp.ZpElement denominator = field.getOneElement();
-            for (int j : shareReceiverIds) {
-                if (i == j)
-                    continue;
-
-                Zp.ZpElement xi = field.createZnElement(BigInteger.valueOf(i));
-                Zp.ZpElement xj = field.createZnElement(BigInteger.valueOf(j));
-                numerator = numerator.mul(xj.neg());
-                denominator = denominator.mul(xi.add(xj.neg()));
+            for (int j = 0; j < k; j++) {
+                if (i != j) {
+                    denominator = denominator.mul(x[i].add(negX[j]));
+                }
             }
-            solvingVector.put(i, numerator.mul(denominator.inv()));
+            denominators[i] = denominator;
+        }
+        Zp.ZpElement[] inverseDenominators = BatchInversionUtil.batchInvert(denominators);
+
+        Map<Integer, Zp.ZpElement> solvingVector = new HashMap<>(k);
+        for (int i = 0; i < k; i++) {
+            solvingVector.put(ids[i], numerators[i].mul(inverseDenominators[i]));
         }
         return solvingVector;
     }
 
+    /**
+     * Returns how often a solving vector could be served from the cache.
+     */
+    public long getSolvingVectorCacheHits() {
+        return solvingVectorCacheHits.get();
+    }
+
+    /**
+     * Returns how often a solving vector had to be computed because it was not cached.
+     */
+    public long getSolvingVectorCacheMisses() {
+        return solvingVectorCacheMisses.get();
+    }
+
+    /**
+     * Removes all cached solving vectors and resets the hit/miss statistics.
+     */
+    public void clearSolvingVectorCache() {
+        synchronized (solvingVectorCache) {
+            solvingVectorCache.clear();
+        }
+        solvingVectorCacheHits.set(0);
+        solvingVectorCacheMisses.set(0);
+    }
+
+    /**
+     * Returns the policy among whose children the secret is shared.
+     */
+    public ThresholdPolicy getPolicy() {
+        return policy;
+    }
+
     @Override
     public Map<Integer, Policy> getShareReceiverMap() {
         int numberOfChildren = policy.getChildren().size();
@@ -0,0 +1,232 @@
+package org.cryptimeleon.craco.secretsharing.vss;
+
+import org.cryptimeleon.craco.common.utils.BatchVerificationUtil;
+import org.cryptimeleon.craco.secretsharing.shamir.ShamirSecretSharing;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.cartesian.GroupElementVector;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Feldman and Pedersen verifiable secret sharing on top of {@link ShamirSecretSharing}.
+ * <p>
+ * For every secret s, the dealer chooses a random polynomial \(P\) of degree t-1 with \(P(0) = s\) and publishes
+ * commitments \(C_k = g^{a_k}\) (Feldman) or \(C_k = g^{a_k} h^{b_k}\) (Pedersen) to its coefficients \(a_k\),
+ * where the \(b_k\) are the coefficients of a random blinding polynomial \(B\).
+ * Receiver i gets \(P(i)\) (and \(B(i)\)) and checks \(g^{P(i)} h^{B(i)} = \prod_k C_k^{i^k}\).
+ * Feldman VSS reveals \(g^s\), Pedersen VSS is perfectly hiding if nobody knows \(\log_g h\).
+ * <p>
+ * A dealing may contain many secrets. {@link #verifyShares(List, Map, Map)} checks all shares of all
+ * secrets with a single multi-exponentiation by combining the equations with random small exponents
+ * (see {@link BatchVerificationUtil}).
+ * The shares of each secret can be reconstructed with the underlying {@link ShamirSecretSharing}.
+ */
+public class ShamirVerifiableSecretSharing {
+
+    private final ShamirSecretSharing lsss;
+    private final Zp field;
+    private final GroupElement g;
+    private final GroupElement h;
+
+    /**
+     * Sets up Feldman VSS.
+     *
+     * @param lsss the secret sharing scheme, whose field must be \(\mathbb{Z}_p\) for the order p of g
+     * @param g    the generator used for the coefficient commitments
+     */
+    public ShamirVerifiableSecretSharing(ShamirSecretSharing lsss, GroupElement g) {
+        this(lsss, g, null);
+    }
+
+    /**
+     * Sets up Pedersen VSS.
+     *
+     * @param lsss the secret sharing scheme, whose field must be \(\mathbb{Z}_p\) for the order p of g
+     * @param g    the first generator used for the coefficient commitments
+     * @param h    the second generator used for the coefficient commitments, or null for Feldman VSS
+     */
+    public ShamirVerifiableSecretSharing(ShamirSecretSharing lsss, GroupElement g, GroupElement h) {
+        if (!lsss.getSharedRing().size().equals(g.getStructure().size())) {
+            throw new IllegalArgumentException("The shared field needs to match the group order");
+        }
+        this.lsss = lsss;
+        this.field = lsss.getSharedRing();
+        this.g = g.precomputePow();
+        this.h = h == null ? null : h.precomputePow();
+    }
+
+    /**
+     * Shares a single secret, see {@link #deal(List)}.
+     */
+    public VssDealing deal(Zp.ZpElement secret) {
+        return deal(Collections.singletonList(secret));
+    }
+
+    /**
+     * Shares the given secrets, each with an independent random polynomial, and commits to the coefficients.
+     *
+     * @param secrets the secrets to share
+     * @return the commitments and shares
+     */
+    public VssDealing deal(List<Zp.ZpElement> secrets) {
+        int threshold = lsss.getPolicy().getThreshold();
+        int numberOfReceivers = lsss.getShareReceiverMap().size();
+
+        List<GroupElementVector> commitments = new ArrayList<>(secrets.size());
+        Map<Integer, Zp.ZpElement[]> shares = new HashMap<>();
+        Map<Integer, Zp.ZpElement[]> blindingShares = isPedersen() ? new HashMap<>() : null;
+        for (int i = 1; i <= numberOfReceivers; i++) {
+            shares.put(i, new Zp.ZpElement[secrets.size()]);
+            if (isPedersen()) {
+                blindingShares.put(i, new Zp.ZpElement[secrets.size()]);
+            }
+        }
+
+        for (int j = 0; j < secrets.size(); j++) {
+            Zp.ZpElement[] coefficients = randomCoefficients(secrets.get(j), threshold);
+            Zp.ZpElement[] blindingCoefficients = isPedersen()
+                    ? randomCoefficients(field.getUniformlyRandomElement(), threshold) : null;
+
+            GroupElement[] commitment = new GroupElement[threshold];
+            for (int k = 0; k < threshold; k++) {
+                commitment[k] = g.pow(coefficients[k]);
+                if (isPedersen()) {
+                    commitment[k] = commitment[k].op(h.pow(blindingCoefficients[k]));
+                }
+                commitment[k] = commitment[k].compute();
+            }
+            commitments.add(new GroupElementVector(commitment));
+
+            int secretIndex = j;
+            lsss.getSharesForPolynomial(coefficients).forEach((i, share) -> shares.get(i)[secretIndex] = share);
+            if (isPedersen()) {
+                lsss.getSharesForPolynomial(blindingCoefficients)
+                        .forEach((i, share) -> blindingShares.get(i)[secretIndex] = share);
+            }
+        }
+
+        return new VssDealing(commitments, shares, blindingShares);
+    }
+
+    private Zp.ZpElement[] randomCoefficients(Zp.ZpElement constantTerm, int threshold) {
+        Zp.ZpElement[] coefficients = new Zp.ZpElement[threshold];
+        coefficients[0] = constantTerm;
+        for (int k = 1; k < threshold; k++) {
+            coefficients[k] = field.getUniformlyRandomElement();
+        }
+        return coefficients;
+    }
+
+    /**
+     * Checks the shares of a single receiver for all secrets of a dealing.
+     *
+     * @param commitments    the commitments of the dealing
+     * @param shareId        the share id of the receiver
+     * @param shares         the shares of the receiver, one per secret
+     * @param blindingShares the blinding shares of the receiver, one per secret (ignored for Feldman VSS)
+     * @return true if all shares are consistent with the commitments (except with negligible probability)
+     */
+    public boolean verifyShare(List<GroupElementVector> commitments, int shareId, Zp.ZpElement[] shares,
+                               Zp.ZpElement[] blindingShares) {
+        return verifyShares(commitments, Collections.singletonMap(shareId, shares),
+                isPedersen() ? Collections.singletonMap(shareId, blindingShares) : null);
+    }
+
+    /**
+     * Checks the given shares of a dealing against its commitments.
+     * <p>
+     * Instead of evaluating the committed polynomial in the exponent for each share, all equations are combined
+     * with random small exponents \(\delta_{i,j}\) into
+     * \(g^{\sum \delta_{i,j} s_{i,j}} h^{\sum \delta_{i,j} r_{i,j}} = \prod_{j,k} C_{j,k}^{\sum_i \delta_{i,j} i^k}\),
+     * which is checked with a single multi-exponentiation.
+     *
+     * @param commitments    the commitments of the dealing
+     * @param shares         map from share id to the shares of that receiver, one per secret
+     * @param blindingShares map from share id to the blinding shares of that receiver (ignored for Feldman VSS)
+     * @return true if all shares are consistent with the commitments (except with negligible probability)
+     */
+    public boolean verifyShares(List<GroupElementVector> commitments, Map<Integer, Zp.ZpElement[]> shares,
+                                Map<Integer, Zp.ZpElement[]> blindingShares) {
+        int numberOfSecrets = commitments.size();
+        int threshold = lsss.getPolicy().getThreshold();
+        if (commitments.stream().anyMatch(commitment -> commitment.length() != threshold)
+                || shares.values().stream().anyMatch(s -> s == null || s.length != numberOfSecrets)) {
+            return false;
+        }
+        if (isPedersen() && (blindingShares == null || !shares.keySet().equals(blindingShares.keySet())
+                || blindingShares.values().stream().anyMatch(s -> s == null || s.length != numberOfSecrets))) {
+            return false;
+        }
+
+        Zp.ZpElement aggregatedShare = field.getZeroElement();
+        Zp.ZpElement aggregatedBlindingShare = field.getZeroElement();
+        // exponents[j][k] = sum_i delta_{i,j} i^k
+        Zp.ZpElement[][] exponents = new Zp.ZpElement[numberOfSecrets][threshold];
+        for (Zp.ZpElement[] row : exponents) {
+            Arrays.fill(row, field.getZeroElement());
+        }
+
+        for (Map.Entry<Integer, Zp.ZpElement[]> entry : shares.entrySet()) {
+            Zp.ZpElement x = field.createZnElement(BigInteger.valueOf(entry.getKey()));
+            Zn.ZnElement[] deltas = BatchVerificationUtil.getRandomSmallExponents(field, numberOfSecrets);
+            for (int j = 0; j < numberOfSecrets; j++) {
+                Zp.ZpElement delta = (Zp.ZpElement) deltas[j];
+                aggregatedShare = aggregatedShare.add(delta.mul(entry.getValue()[j]));
+                if (isPedersen()) {
+                    aggregatedBlindingShare = aggregatedBlindingShare
+                            .add(delta.mul(blindingShares.get(entry.getKey())[j]));
+                }
+                Zp.ZpElement power = delta;
+                for (int k = 0; k < threshold; k++) {
+                    exponents[j][k] = exponents[j][k].add(power);
+                    power = power.mul(x);
+                }
+            }
+        }
+
+        // g^{sum delta s} h^{sum delta r} prod C^{-e} should be the neutral element, evaluated as one multiexp
+        GroupElement check = g.pow(aggregatedShare);
+        if (isPedersen()) {
+            check = check.op(h.pow(aggregatedBlindingShare));
+        }
+        for (int j = 0; j < numberOfSecrets; j++) {
+            for (int k = 0; k < threshold; k++) {
+                check = check.op(commitments.get(j).get(k).pow(exponents[j][k].neg()));
+            }
+        }
+        return check.isNeutralElement();
+    }
+
+    /**
+     * Determines the receivers whose shares are not consistent with the commitments.
+     * Runs {@link #verifyShares(List, Map, Map)} once for all shares and, if that fails, once per receiver.
+     *
+     * @return the (sorted) share ids of the receivers with invalid shares
+     */
+    public List<Integer> findInvalidShares(List<GroupElementVector> commitments, Map<Integer, Zp.ZpElement[]> shares,
+                                           Map<Integer, Zp.ZpElement[]> blindingShares) {
+        if (verifyShares(commitments, shares, blindingShares)) {
+            return Collections.emptyList();
+        }
+        return shares.keySet().stream()
+                .sorted()
+                .filter(i -> !verifyShare(commitments, i, shares.get(i),
+                        isPedersen() ? blindingShares.get(i) : null))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns true if this is Pedersen VSS, false for Feldman VSS.
+     */
+    public boolean isPedersen() {
+        return h != null;
+    }
+
+    public ShamirSecretSharing getLsss() {
+        return lsss;
+    }
+}
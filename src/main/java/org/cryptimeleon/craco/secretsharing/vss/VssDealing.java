@@ -0,0 +1,46 @@
+package org.cryptimeleon.craco.secretsharing.vss;
+
+import org.cryptimeleon.math.structures.groups.cartesian.GroupElementVector;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The output of {@link ShamirVerifiableSecretSharing#deal(List)}: public coefficient commitments
+ * and the (secret) shares for each share receiver.
+ */
+public class VssDealing {
+    private final List<GroupElementVector> commitments;
+    private final Map<Integer, Zp.ZpElement[]> shares;
+    private final Map<Integer, Zp.ZpElement[]> blindingShares;
+
+    public VssDealing(List<GroupElementVector> commitments, Map<Integer, Zp.ZpElement[]> shares,
+                      Map<Integer, Zp.ZpElement[]> blindingShares) {
+        this.commitments = commitments;
+        this.shares = shares;
+        this.blindingShares = blindingShares;
+    }
+
+    /**
+     * Returns the commitments to the polynomial coefficients, one vector per secret. These are published.
+     */
+    public List<GroupElementVector> getCommitments() {
+        return commitments;
+    }
+
+    /**
+     * Returns a map from share id i to the shares of receiver i, one per secret.
+     */
+    public Map<Integer, Zp.ZpElement[]> getShares() {
+        return shares;
+    }
+
+    /**
+     * Returns a map from share id i to the shares of the blinding polynomials of receiver i, one per secret.
+     * Null for Feldman VSS.
+     */
+    public Map<Integer, Zp.ZpElement[]> getBlindingShares() {
+        return blindingShares;
+    }
+}
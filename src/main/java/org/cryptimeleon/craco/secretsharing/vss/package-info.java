@@ -0,0 +1,5 @@
+/**
+ * Contains verifiable secret sharing, where the dealer publishes commitments that allow share receivers to check
+ * their shares.
+ */
+package org.cryptimeleon.craco.secretsharing.vss;
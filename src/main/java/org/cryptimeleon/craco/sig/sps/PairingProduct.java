@@ -0,0 +1,252 @@
+package org.cryptimeleon.craco.sig.sps;
+
+import org.cryptimeleon.craco.common.utils.BatchVerificationUtil;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A product of pairings \(\prod_i e(a_i, b_i)\), e.g. one side of a pairing product equation (PPE) of an SPS scheme.
+ * <p>
+ * Factors are collected first and evaluated at once by {@link #evaluate()}:
+ * by bilinearity, all factors with the same second argument are merged into a single pairing
+ * \(e(\prod_j a_j, b)\), so that the number of pairings only depends on the number of distinct second arguments.
+ * The first arguments of a merged pairing are combined lazily, so powers are evaluated as one multi-exponentiation.
+ * If instead the first argument is the one shared between factors (e.g. a fixed element of \(G_1\) paired with
+ * varying elements of \(G_2\)), factors can be grouped by their first argument via
+ * {@link #multiplyGroupedByFirst(GroupElement, GroupElement)}.
+ * <p>
+ * Several equations \(X_j = 1\) can be checked with a single product by combining them with random small exponents
+ * (see {@link #multiplyRandomized(PairingProduct)} and {@link BatchVerificationUtil}).
+ * The second arguments of SPS verification equations are typically taken from the verification key or the
+ * public parameters, so many of them coincide across the combined equations.
+ * <p>
+ * Constant factors that are already known in \(G_T\) (e.g. cached pairings of public parameters) can be included
+ * via {@link #multiplyTarget(GroupElement)}. Their exponents are accumulated, so each distinct constant costs
+ * at most one exponentiation in \(G_T\), no matter how many equations it occurs in.
+ */
+public class PairingProduct {
+
+    private final BilinearMap bilinearMap;
+
+    /**
+     * Ring of exponents of \(G_T\).
+     */
+    private final Zn zn;
+
+    /**
+     * Maps each second argument to the product of the first arguments it is paired with.
+     */
+    private final Map<GroupElement, GroupElement> factors = new LinkedHashMap<>();
+
+    /**
+     * Maps each first argument to the product of the second arguments it is paired with,
+     * for factors added by {@link #multiplyGroupedByFirst(GroupElement, GroupElement)}.
+     */
+    private final Map<GroupElement, GroupElement> factorsByFirst = new LinkedHashMap<>();
+
+    /**
+     * Maps each constant factor in \(G_T\) to its exponent.
+     */
+    private final Map<GroupElement, Zn.ZnElement> targetFactors = new LinkedHashMap<>();
+
+    /**
+     * Creates the empty product.
+     */
+    public PairingProduct(BilinearMap bilinearMap) {
+        this.bilinearMap = bilinearMap;
+        this.zn = new Zn(bilinearMap.getGT().size());
+    }
+
+    /**
+     * Multiplies this product with \(e(a, b)\).
+     *
+     * @return this product
+     */
+    public PairingProduct multiply(GroupElement a, GroupElement b) {
+        factors.merge(b, a, GroupElement::op);
+        return this;
+    }
+
+    /**
+     * Multiplies this product with \(e(a, b)^{exponent} = e(a^{exponent}, b)\).
+     *
+     * @return this product
+     */
+    public PairingProduct multiply(GroupElement a, GroupElement b, Zn.ZnElement exponent) {
+        return multiply(a.pow(exponent), b);
+    }
+
+    /**
+     * Multiplies this product with \(e(a, b)\), merging it with other factors with the same first argument
+     * (instead of the same second argument).
+     *
+     * @return this product
+     */
+    public PairingProduct multiplyGroupedByFirst(GroupElement a, GroupElement b) {
+        factorsByFirst.merge(a, b, GroupElement::op);
+        return this;
+    }
+
+    /**
+     * Multiplies this product with \(e(a, b)^{exponent} = e(a, b^{exponent})\), merging it with other factors with
+     * the same first argument.
+     *
+     * @return this product
+     */
+    public PairingProduct multiplyGroupedByFirst(GroupElement a, GroupElement b, Zn.ZnElement exponent) {
+        return multiplyGroupedByFirst(a, b.pow(exponent));
+    }
+
+    /**
+     * Multiplies this product with \(e(a, b)^{-1} = e(a^{-1}, b)\).
+     *
+     * @return this product
+     */
+    public PairingProduct divide(GroupElement a, GroupElement b) {
+        return multiply(a.inv(), b);
+    }
+
+    /**
+     * Multiplies this product with the given element of \(G_T\).
+     *
+     * @return this product
+     */
+    public PairingProduct multiplyTarget(GroupElement target) {
+        return multiplyTarget(target, zn.getOneElement());
+    }
+
+    /**
+     * Multiplies this product with the inverse of the given element of \(G_T\).
+     *
+     * @return this product
+     */
+    public PairingProduct divideTarget(GroupElement target) {
+        return multiplyTarget(target, zn.getOneElement().neg());
+    }
+
+    /**
+     * Multiplies this product with \(target^{exponent}\) for the given element of \(G_T\).
+     *
+     * @return this product
+     */
+    public PairingProduct multiplyTarget(GroupElement target, Zn.ZnElement exponent) {
+        targetFactors.merge(target, exponent, Zn.ZnElement::add);
+        return this;
+    }
+
+    /**
+     * Multiplies this product with {@code other}.
+     *
+     * @return this product
+     */
+    public PairingProduct multiply(PairingProduct other) {
+        new LinkedHashMap<>(other.factors).forEach((b, a) -> multiply(a, b));
+        new LinkedHashMap<>(other.factorsByFirst).forEach(this::multiplyGroupedByFirst);
+        new LinkedHashMap<>(other.targetFactors).forEach(this::multiplyTarget);
+        return this;
+    }
+
+    /**
+     * Multiplies this product with \(other^{exponent}\).
+     *
+     * @return this product
+     */
+    public PairingProduct multiply(PairingProduct other, Zn.ZnElement exponent) {
+        new LinkedHashMap<>(other.factors).forEach((b, a) -> multiply(a, b, exponent));
+        new LinkedHashMap<>(other.factorsByFirst).forEach((a, b) -> multiplyGroupedByFirst(a, b, exponent));
+        new LinkedHashMap<>(other.targetFactors).forEach((target, targetExponent) ->
+                multiplyTarget(target, targetExponent.mul(exponent)));
+        return this;
+    }
+
+    /**
+     * Multiplies this product with \(other^{\delta}\) for a random small exponent \(\delta\).
+     * <p>
+     * If this product is supposed to be 1 and {@code other} is supposed to be 1,
+     * checking the result for 1 checks both (except with probability
+     * \(2^{-\ell}\) for \(\ell = \) {@link BatchVerificationUtil#SMALL_EXPONENT_BIT_LENGTH}).
+     *
+     * @return this product
+     */
+    public PairingProduct multiplyRandomized(PairingProduct other) {
+        return multiply(other, BatchVerificationUtil.getRandomSmallExponent(zn));
+    }
+
+    /**
+     * Combines the given products, each of which is supposed to be 1, into a single product by raising all but the
+     * first one to random small exponents (see {@link #multiplyRandomized(PairingProduct)}).
+     * The first product is modified and returned.
+     *
+     * @param products the (non-empty) list of products
+     * @return the combined product, which is 1 iff all given products are 1 (except with negligible probability)
+     */
+    public static PairingProduct combineRandomized(List<PairingProduct> products) {
+        if (products.isEmpty()) {
+            throw new IllegalArgumentException("Need at least one product to combine");
+        }
+        PairingProduct combined = products.get(0);
+        for (PairingProduct product : products.subList(1, products.size())) {
+            combined.multiplyRandomized(product);
+        }
+        return combined;
+    }
+
+    /**
+     * Checks whether all given products are 1 (except with negligible probability) by evaluating them as a single
+     * product, see {@link #combineRandomized(List)}. The given products may be modified.
+     *
+     * @param products the products, null is treated as a failed check
+     * @return true if all products are 1
+     */
+    public static boolean allOne(List<PairingProduct> products) {
+        if (products == null) {
+            return false;
+        }
+        return products.isEmpty() || combineRandomized(products).isOne();
+    }
+
+    /**
+     * Returns the number of pairings needed to evaluate this product.
+     */
+    public int getNumberOfPairings() {
+        return factors.size() + factorsByFirst.size();
+    }
+
+    /**
+     * Evaluates this product.
+     *
+     * @return the (computed) product in \(G_T\)
+     */
+    public GroupElement evaluate() {
+        GroupElement result = bilinearMap.getGT().getNeutralElement();
+        for (Map.Entry<GroupElement, GroupElement> factor : factors.entrySet()) {
+            result = result.op(bilinearMap.apply(factor.getValue(), factor.getKey()));
+        }
+        for (Map.Entry<GroupElement, GroupElement> factor : factorsByFirst.entrySet()) {
+            result = result.op(bilinearMap.apply(factor.getKey(), factor.getValue()));
+        }
+        for (Map.Entry<GroupElement, Zn.ZnElement> targetFactor : targetFactors.entrySet()) {
+            Zn.ZnElement exponent = targetFactor.getValue();
+            if (exponent.isOne()) {
+                result = result.op(targetFactor.getKey());
+            } else if (exponent.neg().isOne()) {
+                result = result.op(targetFactor.getKey().inv());
+            } else if (!exponent.isZero()) {
+                result = result.op(targetFactor.getKey().pow(exponent));
+            }
+        }
+        return result.compute();
+    }
+
+    /**
+     * Checks whether this product evaluates to the neutral element of \(G_T\).
+     */
+    public boolean isOne() {
+        return evaluate().isNeutralElement();
+    }
+}
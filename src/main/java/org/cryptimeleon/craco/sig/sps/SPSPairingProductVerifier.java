@@ -0,0 +1,81 @@
+package org.cryptimeleon.craco.sig.sps;
+
+import org.cryptimeleon.craco.common.plaintexts.PlainText;
+import org.cryptimeleon.craco.sig.MultiMessageStructurePreservingSignatureScheme;
+import org.cryptimeleon.craco.sig.Signature;
+import org.cryptimeleon.craco.sig.VerificationKey;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Interface for structure-preserving signature schemes whose verification consists of pairing product equations
+ * (PPEs).
+ * <p>
+ * Schemes describe their PPEs for a given message, signature and key via
+ * {@link #getVerificationEquations(PlainText, Signature, VerificationKey)}.
+ * This enables generic batch verification: {@link #batchVerify(List, List, List)} combines all PPEs of all
+ * signatures with random small exponents into a single {@link PairingProduct}. Pairings with a common argument
+ * (e.g. an element of the public parameters or of a verification key shared by several signatures) are merged,
+ * so signatures under different keys for the same public parameters can be batched as well.
+ */
+public interface SPSPairingProductVerifier extends MultiMessageStructurePreservingSignatureScheme {
+
+    /**
+     * Returns the PPEs that a valid signature satisfies, each as a product that is 1 iff the equation holds.
+     * The signature is valid iff all products are 1.
+     * <p>
+     * The products are created on every call and may be modified by the caller.
+     *
+     * @return the PPEs, or null if the signature is invalid regardless of any PPE
+     *         (e.g. because it contains a neutral element that the scheme rules out)
+     * @throws IllegalArgumentException if the message, signature or key do not match the scheme, as in
+     *         {@link #verify(PlainText, Signature, VerificationKey)}
+     */
+    List<PairingProduct> getVerificationEquations(PlainText plainText, Signature signature,
+                                                  VerificationKey publicKey);
+
+    /**
+     * Verifies many signatures at once by checking the PPEs of all signatures as a single randomized
+     * {@link PairingProduct}.
+     * If the result is false, at least one signature is invalid; the invalid ones can be found by
+     * {@link #verify(PlainText, Signature, VerificationKey)}.
+     *
+     * @param plainTexts the messages
+     * @param signatures the signatures, one per message
+     * @param publicKeys the verification keys, one per message
+     * @return true if all signatures are valid (except with negligible probability)
+     */
+    default boolean batchVerify(List<? extends PlainText> plainTexts, List<? extends Signature> signatures,
+                                List<? extends VerificationKey> publicKeys) {
+        if (plainTexts.size() != signatures.size() || plainTexts.size() != publicKeys.size()) {
+            throw new IllegalArgumentException("The number of messages, signatures and keys does not match");
+        }
+
+        List<PairingProduct> equations = new ArrayList<>();
+        for (int i = 0; i < plainTexts.size(); i++) {
+            List<PairingProduct> signatureEquations =
+                    getVerificationEquations(plainTexts.get(i), signatures.get(i), publicKeys.get(i));
+            if (signatureEquations == null) {
+                return false;
+            }
+            equations.addAll(signatureEquations);
+        }
+
+        return PairingProduct.allOne(equations);
+    }
+
+    /**
+     * Verifies many signatures under the same verification key at once, see {@link #batchVerify(List, List, List)}.
+     *
+     * @param plainTexts the messages
+     * @param signatures the signatures, one per message
+     * @param publicKey  the verification key for all signatures
+     * @return true if all signatures are valid (except with negligible probability)
+     */
+    default boolean batchVerify(List<? extends PlainText> plainTexts, List<? extends Signature> signatures,
+                                VerificationKey publicKey) {
+        return batchVerify(plainTexts, signatures, Collections.nCopies(plainTexts.size(), publicKey));
+    }
+}
@@ -4,17 +4,21 @@ import org.cryptimeleon.craco.common.plaintexts.GroupElementPlainText;
 import org.cryptimeleon.craco.common.plaintexts.MessageBlock;
 import org.cryptimeleon.craco.common.plaintexts.PlainText;
 import org.cryptimeleon.craco.sig.*;
+import org.cryptimeleon.craco.sig.sps.PairingProduct;
+import org.cryptimeleon.craco.sig.sps.SPSPairingProductVerifier;
 import org.cryptimeleon.math.serialization.ListRepresentation;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.ReprUtil;
 import org.cryptimeleon.math.serialization.annotations.Represented;
 import org.cryptimeleon.math.structures.groups.Group;
 import org.cryptimeleon.math.structures.groups.GroupElement;
-import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.IntStream;
 
@@ -38,7 +42,7 @@ import java.util.stream.IntStream;
  *      without the need for additional precautions.
  *
  */
-public class SPSAGHO11SignatureScheme implements MultiMessageStructurePreservingSignatureScheme {
+public class SPSAGHO11SignatureScheme implements SPSPairingProductVerifier {
 
     /**
      * The public parameters used by the scheme
@@ -46,6 +50,23 @@ public class SPSAGHO11SignatureScheme implements MultiMessageStructurePreserving
     @Represented
     protected SPSAGHO11PublicParameters pp;
 
+    /**
+     * Maximum number of verification keys for which e(G, Z) is cached.
+     */
+    public static final int PAIRING_CACHE_SIZE = 64;
+
+    /**
+     * Caches e(G, Z) for the element Z of recently used verification keys.
+     * Access-ordered, so all accesses (including reads) must synchronize on the map.
+     */
+    private final Map<GroupElement, GroupElement> pairingCache =
+            new LinkedHashMap<GroupElement, GroupElement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<GroupElement, GroupElement> eldest) {
+                    return size() > PAIRING_CACHE_SIZE;
+                }
+            };
+
 
     protected SPSAGHO11SignatureScheme(){ super(); }
 
@@ -190,6 +211,19 @@ public class SPSAGHO11SignatureScheme implements MultiMessageStructurePreserving
 
     @Override
     public Boolean verify(PlainText plainText, Signature signature, VerificationKey publicKey) {
+        // both PPEs are checked as a single product of pairings, the second one raised to a random small exponent
+        return PairingProduct.allOne(getVerificationEquations(plainText, signature, publicKey));
+    }
+
+    /**
+     * Returns the two PPEs of the scheme. Since most pairings share their second argument with the corresponding
+     * pairings of other signatures (an element of the verification key or public parameters), the number of
+     * pairings in a batch of signatures under the same key (see {@link #batchVerify(List, List, VerificationKey)})
+     * only grows with the second message vector.
+     */
+    @Override
+    public List<PairingProduct> getVerificationEquations(PlainText plainText, Signature signature,
+                                                         VerificationKey publicKey) {
 
         // check if the plainText matches the expected message structure
         // the scheme signs messages on G^(k_M) x H^(k_N), so we need a MessageBlock containing 2 MessageBlocks
@@ -213,65 +247,78 @@ public class SPSAGHO11SignatureScheme implements MultiMessageStructurePreserving
         SPSAGHO11Signature sigma = (SPSAGHO11Signature) signature;
         SPSAGHO11VerificationKey pk = (SPSAGHO11VerificationKey) publicKey;
 
-        return evaluateFirstPPE(messageGElements, sigma, pk)
-                && evaluateSecondPPE(messageHElements, sigma, pk);
+        return Arrays.asList(firstPPE(messageGElements, sigma, pk), secondPPE(messageHElements, sigma, pk));
     }
 
     /**
-     * Checks if the given combination of message, key and signature create a valid pairing product equation
-     *      in regard to the scheme's first PPE defined in the paper.
+     * Returns the scheme's first PPE defined in the paper for the given combination of message, key and signature,
+     * as a product that is 1 iff the equation holds:
+     * e(R, V) * e(S, H) * prod e(M_i, W_i) * e(G, Z)^{-1}.
      */
-    private boolean evaluateFirstPPE(MessageBlock messageBlock, SPSAGHO11Signature sigma, SPSAGHO11VerificationKey pk){
+    private PairingProduct firstPPE(MessageBlock messageBlock, SPSAGHO11Signature sigma,
+                                    SPSAGHO11VerificationKey pk){
 
-        BilinearMap bMap = pp.getBilinearMap();
+        PairingProduct ppe = new PairingProduct(pp.getBilinearMap());
 
         //left-hand side
-        GroupElement lhs1 = bMap.apply(sigma.getGroup1ElementSigma1R(), pk.getGroup2ElementV());
-        lhs1 = lhs1.op(bMap.apply(sigma.getGroup1ElementSigma2S(), pp.getG2GroupGenerator()));
-
-        GroupElement lhs2 = pp.getGT().getNeutralElement();
+        ppe.multiply(sigma.getGroup1ElementSigma1R(), pk.getGroup2ElementV());
+        ppe.multiply(sigma.getGroup1ElementSigma2S(), pp.getG2GroupGenerator());
 
         for (int i = 0; i < messageBlock.length(); i++) {
-            lhs2 = lhs2.op(
-                    bMap.apply(((GroupElementPlainText)messageBlock.get(i)).get(), pk.getGroup2ElementsW()[i])
-            );
+            ppe.multiply(((GroupElementPlainText)messageBlock.get(i)).get(), pk.getGroup2ElementsW()[i]);
         }
 
-        GroupElement lhs = lhs1.op(lhs2);
-        lhs.compute();
-
-        // right-hand side
-        GroupElement rhs = bMap.apply(pp.getG1GroupGenerator(), pk.getGroup2ElementZ());
-        rhs.compute();
+        // right-hand side, e(G, Z) only depends on the key
+        ppe.divideTarget(getPairingGZ(pk));
 
-        return lhs.equals(rhs);
+        return ppe;
     }
 
     /**
-     * Checks if the given combination of message, key and signature create a valid pairing product equation
-     *      in regard to the scheme's second PPE defined in the paper.
+     * Returns the scheme's second PPE defined in the paper for the given combination of message, key and signature,
+     * as a product that is 1 iff the equation holds:
+     * e(R, T) * prod e(U_i, N_i) * e(G, H)^{-1}.
+     * <p>
+     * e(G, H) is kept as a pairing, as it merges with the pairing e(S, H) of the first PPE.
      */
-    private boolean evaluateSecondPPE(MessageBlock messageBlock, SPSAGHO11Signature sigma, SPSAGHO11VerificationKey pk){
+    private PairingProduct secondPPE(MessageBlock messageBlock, SPSAGHO11Signature sigma,
+                                     SPSAGHO11VerificationKey pk){
 
-        BilinearMap bMap = pp.getBilinearMap();
+        PairingProduct ppe = new PairingProduct(pp.getBilinearMap());
 
         //left-hand side
-        GroupElement lhs1 = bMap.apply(sigma.getGroup1ElementSigma1R(), sigma.getGroup2ElementSigma3T());
-
-        GroupElement lhs2 = pp.getGT().getNeutralElement();
+        ppe.multiply(sigma.getGroup1ElementSigma1R(), sigma.getGroup2ElementSigma3T());
 
         for (int i = 0; i < messageBlock.length(); i++) {
-            lhs2 = lhs2.op(
-                    bMap.apply(pk.getGroup1ElementsU()[i], ((GroupElementPlainText)messageBlock.get(i)).get())
-            );
+            ppe.multiply(pk.getGroup1ElementsU()[i], ((GroupElementPlainText)messageBlock.get(i)).get());
         }
 
-        GroupElement lhs = lhs1.op(lhs2).compute();
-
         //right-hand side
-        GroupElement rhs = bMap.apply(pp.getG1GroupGenerator(), pp.getG2GroupGenerator()).compute();
+        ppe.divide(pp.getG1GroupGenerator(), pp.getG2GroupGenerator());
+
+        return ppe;
+    }
 
-        return lhs.equals(rhs);
+    /**
+     * Returns e(G, Z) for the given verification key, using the cache if possible.
+     * On a cache miss, the pairing is computed without holding the lock, so concurrent verifications do not wait
+     * for each other. If two threads miss at the same time, both compute the pairing and the first result is kept.
+     */
+    private GroupElement getPairingGZ(SPSAGHO11VerificationKey pk) {
+        GroupElement z = pk.getGroup2ElementZ();
+        GroupElement cached;
+        synchronized (pairingCache) {
+            cached = pairingCache.get(z);
+        }
+        if (cached != null) {
+            return cached;
+        }
+
+        GroupElement pairing = pp.getBilinearMap().apply(pp.getG1GroupGenerator(), z).computeSync();
+        synchronized (pairingCache) {
+            cached = pairingCache.putIfAbsent(z, pairing);
+        }
+        return cached != null ? cached : pairing;
     }
 
     @Override
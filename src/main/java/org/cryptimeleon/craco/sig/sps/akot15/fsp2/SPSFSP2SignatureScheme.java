@@ -1,33 +1,40 @@
 package org.cryptimeleon.craco.sig.sps.akot15.fsp2;
 
-import org.cryptimeleon.craco.commitment.Commitment;
 import org.cryptimeleon.craco.commitment.CommitmentPair;
 import org.cryptimeleon.craco.common.plaintexts.GroupElementPlainText;
 import org.cryptimeleon.craco.common.plaintexts.MessageBlock;
 import org.cryptimeleon.craco.common.plaintexts.PlainText;
 import org.cryptimeleon.craco.sig.*;
+import org.cryptimeleon.craco.sig.sps.PairingProduct;
+import org.cryptimeleon.craco.sig.sps.SPSPairingProductVerifier;
 import org.cryptimeleon.craco.sig.sps.akot15.AKOT15SharedPublicParameters;
 import org.cryptimeleon.craco.sig.sps.akot15.pos.SPSPOSSignatureScheme;
 import org.cryptimeleon.craco.sig.sps.akot15.tc.TCAKOT15CommitmentScheme;
+import org.cryptimeleon.craco.sig.sps.akot15.tc.TCAKOT15OpenValue;
 import org.cryptimeleon.craco.sig.sps.akot15.tcgamma.*;
 import org.cryptimeleon.craco.sig.sps.akot15.xsig.*;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.ReprUtil;
 import org.cryptimeleon.math.serialization.annotations.Represented;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
  * An implementation of the fully structure preserving signature scheme FSP2 presented in [1]
  * The scheme is composed of several building blocks.
  *
+ * Verification collects the pairing product equations of all building blocks ({@link SPSXSIGSignatureScheme},
+ * {@link SPSPOSSignatureScheme} and {@link TCGAKOT15CommitmentScheme}) and checks them as a single randomized
+ * pairing product, whose number of pairings grows by one per message instead of five.
+ *
  *
  *
  * [1] Abe et al.: Fully Structure-Preserving Signatures and Shrinking Commitments.
  * https://eprint.iacr.org/2015/076.pdf
  *
  */
-public class SPSFSP2SignatureScheme implements MultiMessageStructurePreservingSignatureScheme {
+public class SPSFSP2SignatureScheme implements SPSPairingProductVerifier {
 
     /**
      * The public parameters used by the scheme
@@ -116,6 +123,16 @@ public class SPSFSP2SignatureScheme implements MultiMessageStructurePreservingSi
 
     @Override
     public Boolean verify(PlainText plainText, Signature signature, VerificationKey publicKey) {
+        return PairingProduct.allOne(getVerificationEquations(plainText, signature, publicKey));
+    }
+
+    /**
+     * Returns the equations of XSIG (signature on the commitment) followed by the pairing product of TC
+     * (commitment to the message, consisting of the POS signatures and the TC gamma commitment to the POS keys).
+     */
+    @Override
+    public List<PairingProduct> getVerificationEquations(PlainText plainText, Signature signature,
+                                                         VerificationKey publicKey) {
 
         if((plainText instanceof GroupElementPlainText)) {
             plainText = new MessageBlock(plainText);
@@ -139,8 +156,21 @@ public class SPSFSP2SignatureScheme implements MultiMessageStructurePreservingSi
 
         CommitmentPair commitmentPair = sigma.getCommitmentPairTC();
 
-        return xsigInstance.verify(((TCGAKOT15XSIGCommitment)commitmentPair.getCommitment()).toMessageBlock(), sigma.getSigmaXSIG(), vk.getVkXSIG())
-            && tcInstance.verify(sigma.getCommitmentPairTC().getCommitment(), sigma.getCommitmentPairTC().getOpenValue(), messageBlock);
+        if(!(commitmentPair.getCommitment() instanceof TCGAKOT15XSIGCommitment)
+                || !(commitmentPair.getOpenValue() instanceof TCAKOT15OpenValue)) {
+            throw new IllegalArgumentException("this is not a valid signature for this scheme");
+        }
+
+        TCGAKOT15XSIGCommitment com = (TCGAKOT15XSIGCommitment) commitmentPair.getCommitment();
+        MessageBlock xsigMessage = com.toMessageBlock();
+
+        tcInstance.doMessageChecks(messageBlock, pp.getMessageLength(), pp.getG2GroupGenerator().getStructure());
+        xsigInstance.doMessageChecks(xsigMessage, 1, pp.getG2GroupGenerator().getStructure());
+
+        List<PairingProduct> equations =
+                xsigInstance.verificationEquations(xsigMessage, sigma.getSigmaXSIG(), vk.getVkXSIG());
+        equations.add(tcInstance.verificationPPE(messageBlock, com, (TCAKOT15OpenValue) commitmentPair.getOpenValue()));
+        return equations;
     }
 
 
@@ -0,0 +1,209 @@
+package org.cryptimeleon.craco.sig.sps.akot15.pos;
+
+import org.cryptimeleon.craco.sig.sps.akot15.AKOT15SharedPublicParameters;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of precomputed one-time keys (a, A = G^a) for the {@link SPSPOSSignatureScheme}.
+ * <p>
+ * The pool holds up to {@code depth} keys. Every key taken from the pool is replaced by a background worker,
+ * so the exponentiation for A is not done by the signing thread. If the pool runs empty, {@link #take()} computes
+ * a key on the calling thread instead of waiting (counted by {@link #getMisses()}).
+ * Every key is handed out at most once.
+ * <p>
+ * Instances are thread-safe. The worker threads are daemon threads and are stopped by {@link #close()}.
+ */
+public class SPSPOSOneTimeKeyPool implements AutoCloseable {
+
+    /**
+     * A one-time key pair of the {@link SPSPOSSignatureScheme}.
+     */
+    public static class OneTimeKey {
+
+        /**
+         * a in the paper
+         */
+        private final ZpElement secretKey;
+
+        /**
+         * A = G^a in the paper
+         */
+        private final GroupElement verificationKey;
+
+        public OneTimeKey(ZpElement secretKey, GroupElement verificationKey) {
+            this.secretKey = secretKey;
+            this.verificationKey = verificationKey;
+        }
+
+        public ZpElement getSecretKey() {
+            return secretKey;
+        }
+
+        public GroupElement getVerificationKey() {
+            return verificationKey;
+        }
+    }
+
+    private final AKOT15SharedPublicParameters pp;
+
+    private final int depth;
+
+    private final BlockingQueue<OneTimeKey> keys;
+
+    private final ExecutorService workers;
+
+    private final AtomicLong keysGenerated = new AtomicLong();
+    private final AtomicLong keysTaken = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicInteger pendingRefills = new AtomicInteger();
+
+    /**
+     * Creates a pool with one background worker per available processor except one, which is left to the signing
+     * thread (but at least one worker), and starts filling it.
+     *
+     * @param pp    the public parameters of the {@link SPSPOSSignatureScheme}
+     * @param depth the maximum number of precomputed keys
+     */
+    public SPSPOSOneTimeKeyPool(AKOT15SharedPublicParameters pp, int depth) {
+        this(pp, depth, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * Creates a pool and starts filling it.
+     *
+     * @param pp                the public parameters of the {@link SPSPOSSignatureScheme}
+     * @param depth             the maximum number of precomputed keys
+     * @param numberOfWorkers   the number of background threads refilling the pool
+     */
+    public SPSPOSOneTimeKeyPool(AKOT15SharedPublicParameters pp, int depth, int numberOfWorkers) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("Pool depth must be positive");
+        }
+        if (numberOfWorkers <= 0) {
+            throw new IllegalArgumentException("Number of workers must be positive");
+        }
+        this.pp = pp;
+        this.depth = depth;
+        this.keys = new ArrayBlockingQueue<>(depth);
+        this.workers = Executors.newFixedThreadPool(numberOfWorkers, runnable -> {
+            Thread thread = new Thread(runnable, "sps-pos-one-time-key-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int i = 0; i < depth; i++) {
+            scheduleRefill();
+        }
+    }
+
+    /**
+     * Returns a fresh one-time key, either from the pool or, if the pool is empty, computed on the calling thread.
+     */
+    public OneTimeKey take() {
+        OneTimeKey key = keys.poll();
+        if (key == null) {
+            misses.incrementAndGet();
+            key = generate();
+        }
+        keysTaken.incrementAndGet();
+        scheduleRefill();
+        return key;
+    }
+
+    /**
+     * Generates a one-time key the same way as {@link SPSPOSSignatureScheme#updateOneTimeKey}.
+     */
+    private OneTimeKey generate() {
+        ZpElement exponentA = pp.getZp().getUniformlyRandomElement();
+        GroupElement group1ElementA = pp.getG1GroupGenerator().pow(exponentA).computeSync();
+        keysGenerated.incrementAndGet();
+        return new OneTimeKey(exponentA, group1ElementA);
+    }
+
+    private void scheduleRefill() {
+        if (workers.isShutdown()) {
+            return;
+        }
+        pendingRefills.incrementAndGet();
+        try {
+            workers.execute(() -> {
+                try {
+                    if (keys.remainingCapacity() > 0) {
+                        keys.offer(generate());
+                    }
+                } finally {
+                    pendingRefills.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // pool was closed concurrently
+            pendingRefills.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the public parameters the keys are generated for.
+     */
+    public AKOT15SharedPublicParameters getPublicParameters() {
+        return pp;
+    }
+
+    /**
+     * Returns the maximum number of precomputed keys.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the number of precomputed keys currently in the pool.
+     */
+    public int getAvailable() {
+        return keys.size();
+    }
+
+    /**
+     * Returns the number of refills that have been scheduled but not finished yet.
+     */
+    public int getPendingRefills() {
+        return pendingRefills.get();
+    }
+
+    /**
+     * Returns the number of keys generated so far, in the background or by {@link #take()} on a miss.
+     */
+    public long getKeysGenerated() {
+        return keysGenerated.get();
+    }
+
+    /**
+     * Returns the number of keys handed out by {@link #take()}.
+     */
+    public long getKeysTaken() {
+        return keysTaken.get();
+    }
+
+    /**
+     * Returns the number of calls to {@link #take()} that found the pool empty.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Stops the background workers. Keys can still be taken afterwards, but the pool is no longer refilled.
+     */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+}
@@ -4,16 +4,19 @@ import org.cryptimeleon.craco.common.plaintexts.GroupElementPlainText;
 import org.cryptimeleon.craco.common.plaintexts.MessageBlock;
 import org.cryptimeleon.craco.common.plaintexts.PlainText;
 import org.cryptimeleon.craco.sig.*;
+import org.cryptimeleon.craco.sig.sps.PairingProduct;
 import org.cryptimeleon.craco.sig.sps.SPSMessageSpaceVerifier;
+import org.cryptimeleon.craco.sig.sps.SPSPairingProductVerifier;
 import org.cryptimeleon.craco.sig.sps.akot15.AKOT15SharedPublicParameters;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.ReprUtil;
 import org.cryptimeleon.math.serialization.annotations.Represented;
 import org.cryptimeleon.math.structures.groups.GroupElement;
-import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
 import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.IntStream;
 
@@ -36,7 +39,7 @@ import java.util.stream.IntStream;
  * https://eprint.iacr.org/2015/076.pdf
  *
  */
-public class SPSPOSSignatureScheme implements MultiMessageStructurePreservingSignatureScheme, SPSMessageSpaceVerifier {
+public class SPSPOSSignatureScheme implements SPSPairingProductVerifier, SPSMessageSpaceVerifier {
 
     /**
      * the public parameters for this scheme
@@ -44,6 +47,11 @@ public class SPSPOSSignatureScheme implements MultiMessageStructurePreservingSig
     @Represented
     private AKOT15SharedPublicParameters pp;
 
+    /**
+     * Optional pool of precomputed one-time keys, see {@link #setOneTimeKeyPool(SPSPOSOneTimeKeyPool)}.
+     */
+    private volatile SPSPOSOneTimeKeyPool oneTimeKeyPool;
+
 
     public SPSPOSSignatureScheme(AKOT15SharedPublicParameters pp) {
         super();
@@ -93,13 +101,54 @@ public class SPSPOSSignatureScheme implements MultiMessageStructurePreservingSig
      */
     public void updateOneTimeKey(SignatureKeyPair<SPSPOSVerificationKey, SPSPOSSigningKey> keyPair) {
 
+        SPSPOSOneTimeKeyPool.OneTimeKey oneTimeKey = generateOneTimeKey();
+
+        //put into keys
+        keyPair.getSigningKey().setOneTimeKey(oneTimeKey.getSecretKey());
+        keyPair.getVerificationKey().setOneTimeKey(oneTimeKey.getVerificationKey());
+    }
+
+    /**
+     * Returns a fresh one-time key. If a pool is set, the key is taken from the pool, so the exponentiation has
+     * (usually) already been done by a background worker.
+     *
+     * Note: Each returned key must only be used for a single signature.
+     */
+    public SPSPOSOneTimeKeyPool.OneTimeKey generateOneTimeKey() {
+
+        SPSPOSOneTimeKeyPool pool = oneTimeKeyPool;
+        if(pool != null) {
+            return pool.take();
+        }
+
         //pick randomness
         ZpElement exponentA = pp.getZp().getUniformlyRandomElement();
         GroupElement group1ElementA = pp.getG1GroupGenerator().pow(exponentA).compute();
 
-        //put into keys
-        keyPair.getSigningKey().setOneTimeKey(exponentA);
-        keyPair.getVerificationKey().setOneTimeKey(group1ElementA);
+        return new SPSPOSOneTimeKeyPool.OneTimeKey(exponentA, group1ElementA);
+    }
+
+    /**
+     * Sets the pool that {@link #generateOneTimeKey()} (and thereby {@link #updateOneTimeKey(SignatureKeyPair)})
+     * draws one-time keys from. The pool must have been created for the public parameters of this scheme.
+     * The pool is not part of the representation of the scheme.
+     *
+     * @param oneTimeKeyPool the pool, or null to compute one-time keys on demand
+     * @throws IllegalArgumentException if the pool was created for different public parameters
+     */
+    public void setOneTimeKeyPool(SPSPOSOneTimeKeyPool oneTimeKeyPool) {
+        if(oneTimeKeyPool != null && !pp.equals(oneTimeKeyPool.getPublicParameters())) {
+            throw new IllegalArgumentException("The one-time key pool was created for different public parameters");
+        }
+        this.oneTimeKeyPool = oneTimeKeyPool;
+    }
+
+    public SPSPOSOneTimeKeyPool getOneTimeKeyPool() {
+        return oneTimeKeyPool;
+    }
+
+    public AKOT15SharedPublicParameters getPublicParameters() {
+        return pp;
     }
 
     @Override
@@ -158,6 +207,16 @@ public class SPSPOSSignatureScheme implements MultiMessageStructurePreservingSig
 
     @Override
     public Boolean verify(PlainText plainText, Signature signature, VerificationKey publicKey) {
+        return PairingProduct.allOne(getVerificationEquations(plainText, signature, publicKey));
+    }
+
+    /**
+     * Returns the single PPE of the scheme for the one-time key stored in the {@code publicKey},
+     * see {@link #verificationPPE(MessageBlock, SPSPOSSignature, SPSPOSVerificationKey, GroupElement)}.
+     */
+    @Override
+    public List<PairingProduct> getVerificationEquations(PlainText plainText, Signature signature,
+                                                         VerificationKey publicKey) {
 
         if(!(publicKey instanceof SPSPOSVerificationKey)){
             throw new IllegalArgumentException("Not a valid signing key for this scheme");
@@ -165,7 +224,7 @@ public class SPSPOSSignatureScheme implements MultiMessageStructurePreservingSig
 
         SPSPOSVerificationKey vk = (SPSPOSVerificationKey) publicKey;
 
-        return verify(plainText, signature, publicKey, vk.getOneTimeKey());
+        return Collections.singletonList(checkedVerificationPPE(plainText, signature, publicKey, vk.getOneTimeKey()));
     }
 
     /**
@@ -178,6 +237,17 @@ public class SPSPOSSignatureScheme implements MultiMessageStructurePreservingSig
                           Signature signature,
                           VerificationKey publicKey,
                           GroupElement oneTimeVerificationKey) {
+        return checkedVerificationPPE(plainText, signature, publicKey, oneTimeVerificationKey).isOne();
+    }
+
+    /**
+     * Checks the types of the inputs like {@link #verify(PlainText, Signature, VerificationKey, GroupElement)}
+     * and returns the corresponding pairing product.
+     */
+    private PairingProduct checkedVerificationPPE(PlainText plainText,
+                                                  Signature signature,
+                                                  VerificationKey publicKey,
+                                                  GroupElement oneTimeVerificationKey) {
 
         //if plainText only contains a single element, wrap it in a MessageBlock
         if((plainText instanceof GroupElementPlainText)){
@@ -195,26 +265,39 @@ public class SPSPOSSignatureScheme implements MultiMessageStructurePreservingSig
             throw new IllegalArgumentException("Not a valid signing key for this scheme");
         }
 
-        MessageBlock messageBlock = (MessageBlock) plainText;
-        SPSPOSVerificationKey vk = (SPSPOSVerificationKey) publicKey;
-        SPSPOSSignature sigma = (SPSPOSSignature) signature;
+        return verificationPPE((MessageBlock) plainText, (SPSPOSSignature) signature,
+                (SPSPOSVerificationKey) publicKey, oneTimeVerificationKey);
+    }
 
-        BilinearMap bMap = pp.getBilinearMap();
+    /**
+     * Returns the pairing product that is 1 iff the verification equation
+     * e(A, H) = e(W, Z) * e(G, R) * prod e(Chi_i, M_i) holds.
+     * <p>
+     * The factors with fixed arguments W, G and Chi_i from \(G_1\) are grouped by their first argument,
+     * so that the products of several signatures under the same key
+     * (see {@link org.cryptimeleon.craco.sig.sps.akot15.tc.TCAKOT15CommitmentScheme}) share their pairings.
+     * The message is expected to have passed the message checks of this scheme.
+     */
+    public PairingProduct verificationPPE(MessageBlock messageBlock,
+                                          SPSPOSSignature sigma,
+                                          SPSPOSVerificationKey vk,
+                                          GroupElement oneTimeVerificationKey) {
 
-        //check PPE
+        PairingProduct ppe = new PairingProduct(pp.getBilinearMap());
 
-        GroupElement ppelhs = bMap.apply(oneTimeVerificationKey, pp.getG2GroupGenerator()).compute();
+        //left-hand side
+        ppe.divide(oneTimeVerificationKey, pp.getG2GroupGenerator());
 
-        GroupElement pperhs = bMap.apply(vk.getGroup1ElementW(), sigma.getGroup2ElementZ());
-        pperhs = pperhs.op(bMap.apply(pp.getG1GroupGenerator(), sigma.getGroup2ElementR()));
+        //right-hand side
+        ppe.multiplyGroupedByFirst(vk.getGroup1ElementW(), sigma.getGroup2ElementZ());
+        ppe.multiplyGroupedByFirst(pp.getG1GroupGenerator(), sigma.getGroup2ElementR());
 
         for (int i = 0; i < messageBlock.length(); i++) {
             GroupElement m_i = ((GroupElementPlainText)messageBlock.get(i)).get();
-            pperhs = pperhs.op(bMap.apply(vk.getGroup1ElementsChi()[i],m_i));
+            ppe.multiplyGroupedByFirst(vk.getGroup1ElementsChi()[i], m_i);
         }
-        pperhs.compute();
 
-        return ppelhs.equals(pperhs);
+        return ppe;
     }
 
     @Override
@@ -6,6 +6,7 @@ import org.cryptimeleon.craco.common.plaintexts.MessageBlock;
 import org.cryptimeleon.craco.common.plaintexts.PlainText;
 import org.cryptimeleon.craco.common.plaintexts.RingElementPlainText;
 import org.cryptimeleon.craco.sig.SignatureKeyPair;
+import org.cryptimeleon.craco.sig.sps.PairingProduct;
 import org.cryptimeleon.craco.sig.sps.SPSMessageSpaceVerifier;
 import org.cryptimeleon.craco.sig.sps.akot15.AKOT15SharedPublicParameters;
 import org.cryptimeleon.craco.sig.sps.akot15.pos.*;
@@ -265,30 +266,50 @@ public class TCAKOT15CommitmentScheme implements CommitmentScheme, SPSMessageSpa
         //      of GroupElements in G_2
         doMessageChecks(plainText, pp.getMessageLength(), pp.getG2GroupGenerator().getStructure());
 
-        MessageBlock messageBlock = (MessageBlock) plainText;
-        TCGAKOT15Commitment com = (TCGAKOT15Commitment) commitment;
-        TCAKOT15OpenValue open = (TCAKOT15OpenValue) openValue;
+        return verificationPPE((MessageBlock) plainText, (TCGAKOT15Commitment) commitment,
+                (TCAKOT15OpenValue) openValue).isOne();
+    }
 
-        for (int i = 0; i < messageBlock.length(); i++) {
+    /**
+     * Returns a pairing product that is 1 iff (except with negligible probability) all verification equations hold,
+     * i.e. the equations of the {@link SPSPOSSignatureScheme} signatures on the messages and the equation of the
+     * {@link TCGAKOT15CommitmentScheme} commitment to the POS keys.
+     * <p>
+     * The equations are combined with random small exponents. As all POS signatures share the
+     * same key, their products only need four pairings in total, independently of the message length.
+     * The message is expected to have passed the message checks of this scheme.
+     */
+    public PairingProduct verificationPPE(MessageBlock messageBlock, TCGAKOT15Commitment com,
+                                          TCAKOT15OpenValue open) {
 
-            if( !posInstance.verify(new MessageBlock(
-                    messageBlock.get(i)),
-                    open.getSpsPosSignatures()[i],
-                    open.spsPosVerificationKey, oneTimePublicKeys[i])) {
-                return false;
-            }
+        GroupElement[] oneTimeVerificationKeys = open.getSpsPosOTVerificationKeys();
+
+        if(oneTimeVerificationKeys.length != pp.getMessageLength()
+                || open.getSpsPosSignatures().length != pp.getMessageLength()) {
+            throw new IllegalArgumentException(String.format(
+                    "The opening contains %d one-time keys and %d signatures, but the message length is %d",
+                    oneTimeVerificationKeys.length, open.getSpsPosSignatures().length, pp.getMessageLength()));
         }
 
-        GroupElementPlainText[] msg_com = new GroupElementPlainText[pp.getMessageLength() + 2];
+        GroupElement[] msg_com = new GroupElement[pp.getMessageLength() + 2];
 
-        msg_com[0] = new GroupElementPlainText(open.getSpsPosVerificationKey().getGroup1ElementW());
-        msg_com[1] = new GroupElementPlainText(open.getSpsPosVerificationKey().getGroup1ElementsChi()[0]);
+        msg_com[0] = open.getSpsPosVerificationKey().getGroup1ElementW();
+        msg_com[1] = open.getSpsPosVerificationKey().getGroup1ElementsChi()[0];
 
-        for (int i = 2; i < msg_com.length; i++) {
-            msg_com[i] = new GroupElementPlainText(oneTimePublicKeys[i - 2]);
+        System.arraycopy(oneTimeVerificationKeys, 0, msg_com, 2, oneTimeVerificationKeys.length);
+
+        PairingProduct ppe = gbcInstance.verificationPPE(com, new TCGAKOT15OpenValue(open.getGroup1ElementGamma()),
+                msg_com);
+
+        for (int i = 0; i < messageBlock.length(); i++) {
+            ppe.multiplyRandomized(posInstance.verificationPPE(
+                    new MessageBlock(messageBlock.get(i)),
+                    open.getSpsPosSignatures()[i],
+                    open.getSpsPosVerificationKey(),
+                    oneTimeVerificationKeys[i]));
         }
 
-        return gbcInstance.verify(com, new TCGAKOT15OpenValue(open.getGroup1ElementGamma()), new MessageBlock(msg_com));
+        return ppe;
     }
 
 
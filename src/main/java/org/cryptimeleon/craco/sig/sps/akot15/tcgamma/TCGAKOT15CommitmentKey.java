@@ -26,10 +26,19 @@ public class TCGAKOT15CommitmentKey implements CommitmentKey {
 
     public TCGAKOT15CommitmentKey(GroupElement[] group2ElementsXi) {
         this.group2ElementsXi = group2ElementsXi;
+        precompute();
     }
 
     public TCGAKOT15CommitmentKey(Group group2, Representation repr) {
         new ReprUtil(this).register(group2, "G2").deserialize(repr);
+        precompute();
+    }
+
+    /**
+     * Precomputes fixed-base tables for the X_i, which are the bases of every commitment.
+     */
+    private void precompute() {
+        Arrays.stream(group2ElementsXi).forEach(GroupElement::precomputePow);
     }
 
 
@@ -8,6 +8,7 @@ import org.cryptimeleon.craco.common.plaintexts.GroupElementPlainText;
 import org.cryptimeleon.craco.common.plaintexts.MessageBlock;
 import org.cryptimeleon.craco.common.plaintexts.PlainText;
 import org.cryptimeleon.craco.common.plaintexts.RingElementPlainText;
+import org.cryptimeleon.craco.sig.sps.PairingProduct;
 import org.cryptimeleon.craco.sig.sps.akot15.AKOT15SharedPublicParameters;
 import org.cryptimeleon.math.serialization.ObjectRepresentation;
 import org.cryptimeleon.math.serialization.RepresentableRepresentation;
@@ -16,11 +17,11 @@ import org.cryptimeleon.math.serialization.annotations.ReprUtil;
 import org.cryptimeleon.math.serialization.annotations.Represented;
 import org.cryptimeleon.math.structures.cartesian.Vector;
 import org.cryptimeleon.math.structures.groups.GroupElement;
-import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
 import org.cryptimeleon.math.structures.rings.RingElement;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.util.Objects;
+import java.util.stream.IntStream;
 
 /**
  * An implementation of the gamma binding commitment scheme presented in [1]
@@ -45,6 +46,11 @@ import java.util.Objects;
  */
 public class TCGAKOT15CommitmentScheme implements CommitmentScheme {
 
+    /**
+     * Message length from which the elements of the commitment key are generated in parallel.
+     */
+    public static final int PARALLEL_KEY_GENERATION_THRESHOLD = 32;
+
     /**
      * The public parameters for this scheme
      */
@@ -94,40 +100,43 @@ public class TCGAKOT15CommitmentScheme implements CommitmentScheme {
 
     /**
      * Generate a commitment key to be used by the scheme.
+     * For long messages, the elements of the key are computed in parallel.
      * */
     private TCGAKOT15CommitmentKey generateKey() {
 
-        GroupElement[] group2ElementsXi = new GroupElement[pp.getMessageLength()];
+        int messageLength = pp.getMessageLength();
+        Zp.ZpElement[] rho = IntStream.range(0, messageLength)
+                .mapToObj(i -> pp.getZp().getUniformlyRandomElement())
+                .toArray(Zp.ZpElement[]::new);
+
+        GroupElement[] group2ElementsXi = computePowers(pp.getG2GroupGenerator(), rho);
 
         //if XSIG specific parameters are passed, additional values are calculated
         if(pp instanceof TCGAKOT15XSIGPublicParameters) {
 
             TCGAKOT15XSIGPublicParameters ppXSIG = (TCGAKOT15XSIGPublicParameters) pp;
 
-            GroupElement[] group2ElementsXi2 = new GroupElement[pp.getMessageLength()];
-            GroupElement[] group2ElementsXi3 = new GroupElement[pp.getMessageLength()];
-
-            for (int i = 0; i < group2ElementsXi.length; i++) {
-
-                Zp.ZpElement rho = pp.getZp().getUniformlyRandomElement();
-
-                group2ElementsXi[i] = pp.getG2GroupGenerator().pow(rho).compute();
-                group2ElementsXi2[i] = ppXSIG.getGroup2ElementF2().pow(rho).compute();
-                group2ElementsXi3[i] = ppXSIG.getGroup2ElementU1().pow(rho).compute();
-            }
+            GroupElement[] group2ElementsXi2 = computePowers(ppXSIG.getGroup2ElementF2(), rho);
+            GroupElement[] group2ElementsXi3 = computePowers(ppXSIG.getGroup2ElementU1(), rho);
 
             return new TCGAKOT15XSIGCommitmentKey(group2ElementsXi, group2ElementsXi2, group2ElementsXi3);
         }
         else {
-
-            for (int i = 0; i < group2ElementsXi.length; i++) {
-                group2ElementsXi[i] = pp.getG2GroupGenerator().pow(pp.getZp().getUniformlyRandomElement()).compute();
-            }
-
             return new TCGAKOT15CommitmentKey(group2ElementsXi);
         }
     }
 
+    /**
+     * Computes base^{exponents_i} for all i, using the fixed-base table of the base.
+     */
+    private GroupElement[] computePowers(GroupElement base, Zp.ZpElement[] exponents) {
+        IntStream indices = IntStream.range(0, exponents.length);
+        if (exponents.length >= PARALLEL_KEY_GENERATION_THRESHOLD) {
+            indices = indices.parallel();
+        }
+        return indices.mapToObj(i -> base.pow(exponents[i]).computeSync()).toArray(GroupElement[]::new);
+    }
+
 
     /**
      * Commit to a given message
@@ -178,6 +187,11 @@ public class TCGAKOT15CommitmentScheme implements CommitmentScheme {
         TCGAKOT15XSIGPublicParameters ppXSIG = (TCGAKOT15XSIGPublicParameters) pp;
 
         // compute G_u
+        // The three products share the exponents zeta and m_i, but each is evaluated as a separate
+        //      multi-exponentiation by the math library, which recodes the exponents itself. There is no shared
+        //      recoding: the bases differ, so it could only save the recoding, not any group operation.
+        //      The fixed-base tables of the commitment key are used instead, and the three products are computed
+        //      concurrently.
 
         GroupElement group2ElementGu = pp.getG2GroupGenerator().pow(zeta);
         GroupElement group2ElementGu2 = ppXSIG.getGroup2ElementF2().pow(zeta);
@@ -205,7 +219,6 @@ public class TCGAKOT15CommitmentScheme implements CommitmentScheme {
                 open);
     }
 
-
     @Override
     public boolean verify(Commitment commitment, OpenValue openValue, PlainText plainText) {
 
@@ -246,20 +259,33 @@ public class TCGAKOT15CommitmentScheme implements CommitmentScheme {
         }
 
 
-        BilinearMap bMap = pp.getBilinearMap();
+        return verificationPPE(com, open, messageGroupElements).isOne();
+    }
 
-        GroupElement ppe_lhs = bMap.apply(pp.getG1GroupGenerator(), com.getGroup2ElementGu()).compute();
-        GroupElement ppe_rhs = bMap.apply(open.getGroup1ElementR(), pp.getG2GroupGenerator());
+    /**
+     * Returns the pairing product that is 1 iff the verification equation
+     * e(G, G_u) = e(R, H) * prod e(M_i, X_i) holds.
+     * <p>
+     * The factor with the fixed argument G is grouped by its first argument, all others by their second argument.
+     *
+     * @param messageGroupElements the message M_i \in G_1
+     */
+    public PairingProduct verificationPPE(TCGAKOT15Commitment com, TCGAKOT15OpenValue open,
+                                          GroupElement[] messageGroupElements) {
 
-        for (int i = 0; i < messageBlock.length(); i++) {
-            ppe_rhs = ppe_rhs.op(bMap.apply(
-                    messageGroupElements[i],
-                    commitmentKey.getGroup2ElementsXi()[i])
-            );
+        PairingProduct ppe = new PairingProduct(pp.getBilinearMap());
+
+        //left-hand side
+        ppe.multiplyGroupedByFirst(pp.getG1GroupGenerator(), com.getGroup2ElementGu());
+
+        //right-hand side
+        ppe.divide(open.getGroup1ElementR(), pp.getG2GroupGenerator());
+
+        for (int i = 0; i < messageGroupElements.length; i++) {
+            ppe.divide(messageGroupElements[i], commitmentKey.getGroup2ElementsXi()[i]);
         }
-        ppe_rhs.compute();
 
-        return ppe_lhs.equals(ppe_rhs);
+        return ppe;
     }
 
     /**
@@ -37,10 +37,20 @@ public class TCGAKOT15XSIGCommitmentKey extends TCGAKOT15CommitmentKey{
         super(group2ElementsXi);
         this.group2ElementsXi2 = group2ElementsXi2;
         this.group2ElementsXi3 = group2ElementsXi3;
+        precompute();
     }
 
     public TCGAKOT15XSIGCommitmentKey(Group group2, Representation repr) {
         super(group2, repr);
+        precompute();
+    }
+
+    /**
+     * Precomputes fixed-base tables for the additional bases X_i2 and X_i3.
+     */
+    private void precompute() {
+        Arrays.stream(group2ElementsXi2).forEach(GroupElement::precomputePow);
+        Arrays.stream(group2ElementsXi3).forEach(GroupElement::precomputePow);
     }
 
 
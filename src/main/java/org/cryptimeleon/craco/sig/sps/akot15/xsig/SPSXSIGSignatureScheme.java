@@ -4,16 +4,20 @@ import org.cryptimeleon.craco.common.plaintexts.GroupElementPlainText;
 import org.cryptimeleon.craco.common.plaintexts.MessageBlock;
 import org.cryptimeleon.craco.common.plaintexts.PlainText;
 import org.cryptimeleon.craco.sig.*;
+import org.cryptimeleon.craco.sig.sps.PairingProduct;
 import org.cryptimeleon.craco.sig.sps.SPSMessageSpaceVerifier;
+import org.cryptimeleon.craco.sig.sps.SPSPairingProductVerifier;
 import org.cryptimeleon.math.serialization.ListRepresentation;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.ReprUtil;
 import org.cryptimeleon.math.serialization.annotations.Represented;
 import org.cryptimeleon.math.structures.groups.Group;
 import org.cryptimeleon.math.structures.groups.GroupElement;
-import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
 import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -27,7 +31,7 @@ import java.util.Objects;
  * https://eprint.iacr.org/2015/076.pdf
  *
  */
-public class SPSXSIGSignatureScheme implements MultiMessageStructurePreservingSignatureScheme, SPSMessageSpaceVerifier {
+public class SPSXSIGSignatureScheme implements SPSPairingProductVerifier, SPSMessageSpaceVerifier {
 
     @Represented
     private SPSXSIGPublicParameters pp;
@@ -66,34 +70,36 @@ public class SPSXSIGSignatureScheme implements MultiMessageStructurePreservingSi
         ZpElement b = pp.getZp().getUniformlyRandomElement();
 
         //calculate verification key elements
+        // all elements are powers of the (precomputed) generators with independent exponents,
+        //      so they are computed in parallel
 
         GroupElement groupElementG = pp.getGroup1ElementG();
         GroupElement groupElementGHat = pp.getGroup2ElementH();
 
-        GroupElement group2ElementV1 = groupElementGHat.pow(b).compute();
-        GroupElement group2ElementV2 = groupElementGHat.pow(a).compute();
-        GroupElement group2ElementV3 = groupElementGHat.pow(a.mul(b)).compute();
-        GroupElement group2ElementV4 = groupElementGHat.pow(r0.add(a.mul(r1))).compute();
-        GroupElement group2ElementV5 = group2ElementV4.pow(b).compute();
-        GroupElement group2ElementV6 = groupElementGHat.pow(r2).compute();
+        ZpElement exponentV4 = r0.add(a.mul(r1));
+        // if phi is zero, V8 is chosen uniformly at random instead
+        ZpElement exponentV8 = phi.isZero() ? pp.getZp().getUniformlyRandomElement() : alpha.mul(b).div(phi);
 
-        GroupElement group1ElementV7 = groupElementG.pow(phi).compute();
+        GroupElement[] group2ElementsV = computePowers(groupElementGHat,
+                b, a, a.mul(b), exponentV4, exponentV4.mul(b), r2, exponentV8);
 
-        GroupElement group2ElementV8;
+        GroupElement group2ElementV1 = group2ElementsV[0];
+        GroupElement group2ElementV2 = group2ElementsV[1];
+        GroupElement group2ElementV3 = group2ElementsV[2];
+        GroupElement group2ElementV4 = group2ElementsV[3];
+        GroupElement group2ElementV5 = group2ElementsV[4];
+        GroupElement group2ElementV6 = group2ElementsV[5];
+        GroupElement group2ElementV8 = group2ElementsV[6];
 
-        if(!phi.isZero()) {
-            group2ElementV8 = groupElementGHat.pow(alpha.mul(b).div(phi)).compute();
-        }
-        else {
-            group2ElementV8 = groupElementGHat.getStructure().getUniformlyRandomElement();
-        }
+        //calculate signing key elements (and V7)
 
-        //calculate signing key elements
+        GroupElement[] group1Elements = computePowers(groupElementG, phi, alpha, b, r0, r1);
 
-        GroupElement group1ElementK1 = groupElementG.pow(alpha).compute();
-        GroupElement group1ElementK2 = groupElementG.pow(b).compute();
-        GroupElement group1ElementK3 = groupElementG.pow(r0).compute();
-        GroupElement group1ElementK4 = groupElementG.pow(r1).compute();
+        GroupElement group1ElementV7 = group1Elements[0];
+        GroupElement group1ElementK1 = group1Elements[1];
+        GroupElement group1ElementK2 = group1Elements[2];
+        GroupElement group1ElementK3 = group1Elements[3];
+        GroupElement group1ElementK4 = group1Elements[4];
 
         SPSXSIGVerificationKey vk = new SPSXSIGVerificationKey(
                 group2ElementV1, group2ElementV2,
@@ -109,6 +115,15 @@ public class SPSXSIGSignatureScheme implements MultiMessageStructurePreservingSi
         return new SignatureKeyPair<>(vk, sk);
     }
 
+    /**
+     * Computes base^{exponents_i} for all i in parallel.
+     */
+    private GroupElement[] computePowers(GroupElement base, ZpElement... exponents) {
+        return Arrays.stream(exponents).parallel()
+                .map(exponent -> base.pow(exponent).computeSync())
+                .toArray(GroupElement[]::new);
+    }
+
 
     @Override
     public Signature sign(PlainText plainText, SigningKey secretKey) {
@@ -142,13 +157,14 @@ public class SPSXSIGSignatureScheme implements MultiMessageStructurePreservingSi
             group2ElementS0 = group2ElementS0.op(m_i3.get());
         }
 
+        // each element is a single (multi-)exponentiation, using the fixed-base tables of the signing key and the
+        //      public parameters. compute() evaluates them concurrently.
+
         group2ElementS0 = group2ElementS0.pow(r0).compute();
 
         GroupElement group1ElementS1 = sk.getGroup1ElementK1().op(sk.getGroup1ElementK3().pow(r)).compute();
 
-        GroupElement group1ElementS2 = sk.getGroup1ElementK4().pow(r);
-        GroupElement group1ElementS2rhs = pp.getGroup1ElementG().pow(z.neg()).compute();
-        group1ElementS2 = group1ElementS2.op(group1ElementS2rhs).compute();
+        GroupElement group1ElementS2 = sk.getGroup1ElementK4().pow(r).op(pp.getGroup1ElementG().pow(z.neg())).compute();
 
         GroupElement group1ElementS3 = sk.getGroup1ElementK2().pow(z).compute();
 
@@ -167,6 +183,16 @@ public class SPSXSIGSignatureScheme implements MultiMessageStructurePreservingSi
 
     @Override
     public Boolean verify(PlainText plainText, Signature signature, VerificationKey publicKey) {
+        return PairingProduct.allOne(getVerificationEquations(plainText, signature, publicKey));
+    }
+
+    /**
+     * Returns the two signature equations followed by the two message equations per message triplet,
+     * see {@link #verificationEquations(MessageBlock, SPSXSIGSignature, SPSXSIGVerificationKey)}.
+     */
+    @Override
+    public List<PairingProduct> getVerificationEquations(PlainText plainText, Signature signature,
+                                                         VerificationKey publicKey) {
 
         // check if the message to be signed matches the structure required by the implementation
         doMessageChecks(plainText);
@@ -180,20 +206,38 @@ public class SPSXSIGSignatureScheme implements MultiMessageStructurePreservingSi
         }
 
 
-        MessageBlock messageBlock = (MessageBlock) plainText;
-        SPSXSIGVerificationKey vk = (SPSXSIGVerificationKey) publicKey;
-        SPSXSIGSignature sigma = (SPSXSIGSignature) signature;
+        return verificationEquations((MessageBlock) plainText, (SPSXSIGSignature) signature,
+                (SPSXSIGVerificationKey) publicKey);
+    }
+
+    /**
+     * Returns the verification equations of the scheme as separate pairing products: the two signature equations,
+     * followed by the two message equations for each message triplet.
+     * The factors with the fixed arguments F_1, F_2 and U_i from \(G_1\) are grouped by their first argument,
+     * so that the message equations only need three pairings in total once they are combined with
+     * {@link PairingProduct#combineRandomized(List)}.
+     * The message is expected to have passed the message checks of this scheme.
+     */
+    public List<PairingProduct> verificationEquations(MessageBlock messageBlock, SPSXSIGSignature sigma,
+                                                      SPSXSIGVerificationKey vk) {
 
-        BilinearMap bMap = pp.getBilinearMap();
+        List<PairingProduct> equations = new ArrayList<>(2 + 2 * messageBlock.length());
+        equations.add(firstPPE(sigma, vk, messageBlock));
+        equations.add(secondPPE(sigma, vk));
+
+        for (int i = 0; i < messageBlock.length(); i++) {
+            MessageBlock innerBlock = (MessageBlock) messageBlock.get(i);
+            equations.add(thirdPPE(innerBlock, i));
+            equations.add(fourthPPE(innerBlock, i));
+        }
 
-        return verifyFirstPPE(bMap, sigma, vk, messageBlock)
-                && verifySecondPPE(bMap, sigma, vk)
-                && verifyThirdPPE(bMap, messageBlock)
-                && verifyFourthPPE(bMap, messageBlock);
+        return equations;
     }
 
-    private boolean verifyFirstPPE(BilinearMap bMap, SPSXSIGSignature sigma,
-                                   SPSXSIGVerificationKey vk, MessageBlock messageBlock) {
+    /**
+     * e(S_5, V_6 * prod M_i3) = e(G, S_0)
+     */
+    private PairingProduct firstPPE(SPSXSIGSignature sigma, SPSXSIGVerificationKey vk, MessageBlock messageBlock) {
 
         GroupElement ppe1lhs2 = vk.getGroup2ElementV6();
 
@@ -202,81 +246,57 @@ public class SPSXSIGSignatureScheme implements MultiMessageStructurePreservingSi
             ppe1lhs2 = ppe1lhs2.op(m_i3.get());
         }
 
-        ppe1lhs2 = ppe1lhs2.compute();
-
-        GroupElement ppe1lhs = bMap.apply(sigma.getGroup1ElementsSigma()[4], ppe1lhs2).compute();
+        PairingProduct ppe = new PairingProduct(pp.getBilinearMap());
+        ppe.multiply(sigma.getGroup1ElementsSigma()[4], ppe1lhs2);
+        ppe.multiplyGroupedByFirst(pp.getGroup1ElementG(), sigma.getGroup2ElementSigma0().inv());
 
-        GroupElement ppe1rhs = bMap.apply(pp.getGroup1ElementG(), sigma.getGroup2ElementSigma0()).compute();
-
-        return ppe1lhs.equals(ppe1rhs);
+        return ppe;
     }
 
-    private boolean verifySecondPPE(BilinearMap bMap, SPSXSIGSignature sigma,
-                                    SPSXSIGVerificationKey vk) {
-
-        //left-hand side
-
-        GroupElement ppe2lhs = bMap.apply(sigma.getGroup1ElementsSigma()[0], vk.getGroup2ElementV1());
+    /**
+     * e(S_1, V_1) * e(S_2, V_3) * e(S_3, V_2) = e(S_4, V_4) * e(S_5, V_5) * e(V_7, V_8)
+     */
+    private PairingProduct secondPPE(SPSXSIGSignature sigma, SPSXSIGVerificationKey vk) {
 
-        ppe2lhs = ppe2lhs.op(bMap.apply(sigma.getGroup1ElementsSigma()[1], vk.getGroup2ElementV3()));
-        ppe2lhs = ppe2lhs.op(bMap.apply(sigma.getGroup1ElementsSigma()[2], vk.getGroup2ElementV2()));
+        PairingProduct ppe = new PairingProduct(pp.getBilinearMap());
 
-        ppe2lhs.compute();
+        //left-hand side
+        ppe.multiply(sigma.getGroup1ElementsSigma()[0], vk.getGroup2ElementV1());
+        ppe.multiply(sigma.getGroup1ElementsSigma()[1], vk.getGroup2ElementV3());
+        ppe.multiply(sigma.getGroup1ElementsSigma()[2], vk.getGroup2ElementV2());
 
         //right-hand side
+        ppe.divide(sigma.getGroup1ElementsSigma()[3], vk.getGroup2ElementV4());
+        ppe.divide(sigma.getGroup1ElementsSigma()[4], vk.getGroup2ElementV5());
+        ppe.divide(vk.getGroup1ElementV7(), vk.getGroup2ElementV8());
 
-        GroupElement ppe2rhs = bMap.apply(sigma.getGroup1ElementsSigma()[3], vk.getGroup2ElementV4());
-        ppe2rhs = ppe2rhs.op(bMap.apply(sigma.getGroup1ElementsSigma()[4], vk.getGroup2ElementV5()));
-        ppe2rhs = ppe2rhs.op(bMap.apply(vk.getGroup1ElementV7(), vk.getGroup2ElementV8()));
-        ppe2rhs.compute();
-
-        return ppe2lhs.equals(ppe2rhs);
+        return ppe;
     }
 
-    private boolean verifyThirdPPE(BilinearMap bMap, MessageBlock messageBlock) {
-
-        for (int i = 0; i < messageBlock.length(); i++) {
-
-            MessageBlock innerBlock = (MessageBlock) messageBlock.get(i);
-            GroupElement m_i1 = ((GroupElementPlainText) innerBlock.get(0)).get();
-            GroupElement m_i3 = ((GroupElementPlainText) innerBlock.get(2)).get();
-
-            GroupElement ppe3lhs = bMap.apply(pp.getGroup1ElementF1(), m_i3);
-            ppe3lhs.compute();
-
-            GroupElement ppe3rhs = bMap.apply(pp.getGroup1ElementsU()[i], m_i1);
-            ppe3rhs.compute();
-
-            if(!ppe3lhs.equals(ppe3rhs)) {
-                return false;
-            }
+    /**
+     * e(F_1, M_i3) = e(U_i, M_i1)
+     */
+    private PairingProduct thirdPPE(MessageBlock innerBlock, int i) {
 
-        }
+        GroupElement m_i1 = ((GroupElementPlainText) innerBlock.get(0)).get();
+        GroupElement m_i3 = ((GroupElementPlainText) innerBlock.get(2)).get();
 
-        return true;
+        return new PairingProduct(pp.getBilinearMap())
+                .multiplyGroupedByFirst(pp.getGroup1ElementF1(), m_i3)
+                .multiplyGroupedByFirst(pp.getGroup1ElementsU()[i], m_i1.inv());
     }
 
-    private boolean verifyFourthPPE(BilinearMap bMap, MessageBlock messageBlock) {
-
-        for (int i = 0; i < messageBlock.length(); i++) {
-
-            MessageBlock innerBlock = (MessageBlock) messageBlock.get(i);
-            GroupElement m_i2 = ((GroupElementPlainText) innerBlock.get(1)).get();
-            GroupElement m_i3 = ((GroupElementPlainText) innerBlock.get(2)).get();
-
-            GroupElement ppe3lhs = bMap.apply(pp.getGroup1ElementF2(), m_i3);
-            ppe3lhs.compute();
-
-            GroupElement ppe3rhs = bMap.apply(pp.getGroup1ElementsU()[i], m_i2);
-            ppe3rhs.compute();
-
-            if(!ppe3lhs.equals(ppe3rhs)) {
-                return false;
-            }
+    /**
+     * e(F_2, M_i3) = e(U_i, M_i2)
+     */
+    private PairingProduct fourthPPE(MessageBlock innerBlock, int i) {
 
-        }
+        GroupElement m_i2 = ((GroupElementPlainText) innerBlock.get(1)).get();
+        GroupElement m_i3 = ((GroupElementPlainText) innerBlock.get(2)).get();
 
-        return true;
+        return new PairingProduct(pp.getBilinearMap())
+                .multiplyGroupedByFirst(pp.getGroup1ElementF2(), m_i3)
+                .multiplyGroupedByFirst(pp.getGroup1ElementsU()[i], m_i2.inv());
     }
 
     @Override
@@ -14,6 +14,9 @@ import java.util.Objects;
  *
  * Note: V6 is part of the verification key, but as it is used for signature calculation, the groupElement
  *      is also stored here.
+ *
+ * The key is prepared for signing: fixed-base tables for K_2, K_3 and K_4, which are exponentiated with fresh
+ * randomness in every signature, are precomputed when the key is created or restored.
  */
 public class SPSXSIGSigningKey implements SigningKey {
 
@@ -61,10 +64,21 @@ public class SPSXSIGSigningKey implements SigningKey {
         this.group1ElementK3 = group1ElementK3;
         this.group1ElementK4 = group1ElementK4;
         this.group2ElementV6 = group2ElementV6;
+        precompute();
     }
 
     public SPSXSIGSigningKey(Group G1, Group G2, Representation repr){
         new ReprUtil(this).register(G1, "G1").register(G2, "G2").deserialize(repr);
+        precompute();
+    }
+
+    /**
+     * precomputes the group elements used as bases during signing.
+     */
+    private void precompute() {
+        this.group1ElementK2.precomputePow();
+        this.group1ElementK3.precomputePow();
+        this.group1ElementK4.precomputePow();
     }
 
 
@@ -44,10 +44,22 @@ public class SPSEQPublicParameters implements PublicParameters {
         this.bilinearGroup = bilinearGroup;
         this.group1ElementP = this.bilinearGroup.getG1().getUniformlyRandomNonNeutral();
         this.group2ElementHatP = this.bilinearGroup.getG2().getUniformlyRandomNonNeutral();
+
+        precompute();
     }
 
     public SPSEQPublicParameters(Representation repr) {
         new ReprUtil(this).deserialize(repr);
+
+        precompute();
+    }
+
+    /**
+     * precomputes the group elements of the public parameters.
+     */
+    private void precompute() {
+        this.group1ElementP.precomputePow();
+        this.group2ElementHatP.precomputePow();
     }
 
     @Override
@@ -0,0 +1,63 @@
+package org.cryptimeleon.craco.sig.sps.eq;
+
+import org.cryptimeleon.craco.common.plaintexts.MessageBlock;
+import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
+
+import java.util.Objects;
+
+/**
+ * A representative of an equivalence class signed with the SPS-EQ signature scheme, i.e. a message
+ * \(\mu \cdot M\) together with a matching signature,
+ * as returned by {@link SPSEQSignatureScheme#chgRepBatch(org.cryptimeleon.craco.common.plaintexts.PlainText,
+ * org.cryptimeleon.craco.sig.Signature, int, org.cryptimeleon.craco.sig.VerificationKey)}.
+ */
+public class SPSEQRepresentative {
+
+    /**
+     * The new representative \(\mu \cdot M\).
+     */
+    private final MessageBlock message;
+
+    /**
+     * Signature on {@link #message}.
+     */
+    private final SPSEQSignature signature;
+
+    /**
+     * The scalar \(\mu\) mapping the original representative to {@link #message}.
+     */
+    private final ZpElement mu;
+
+    public SPSEQRepresentative(MessageBlock message, SPSEQSignature signature, ZpElement mu) {
+        this.message = message;
+        this.signature = signature;
+        this.mu = mu;
+    }
+
+    public MessageBlock getMessage() {
+        return message;
+    }
+
+    public SPSEQSignature getSignature() {
+        return signature;
+    }
+
+    public ZpElement getMu() {
+        return mu;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SPSEQRepresentative that = (SPSEQRepresentative) o;
+        return Objects.equals(message, that.message) &&
+                Objects.equals(signature, that.signature) &&
+                Objects.equals(mu, that.mu);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(message, signature, mu);
+    }
+}
@@ -3,7 +3,10 @@ package org.cryptimeleon.craco.sig.sps.eq;
 import org.cryptimeleon.craco.common.plaintexts.GroupElementPlainText;
 import org.cryptimeleon.craco.common.plaintexts.MessageBlock;
 import org.cryptimeleon.craco.common.plaintexts.PlainText;
+import org.cryptimeleon.craco.common.utils.BatchInversionUtil;
 import org.cryptimeleon.craco.sig.*;
+import org.cryptimeleon.craco.sig.sps.PairingProduct;
+import org.cryptimeleon.craco.sig.sps.SPSPairingProductVerifier;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.ReprUtil;
 import org.cryptimeleon.math.serialization.annotations.Represented;
@@ -12,7 +15,9 @@ import org.cryptimeleon.math.structures.rings.zn.Zn;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -31,7 +36,7 @@ import java.util.stream.IntStream;
  *
  */
 
-public class SPSEQSignatureScheme implements StructurePreservingSignatureEQScheme {
+public class SPSEQSignatureScheme implements StructurePreservingSignatureEQScheme, SPSPairingProductVerifier {
 
     /**
      * Public parameters of the signature scheme.
@@ -134,6 +139,22 @@ public class SPSEQSignatureScheme implements StructurePreservingSignatureEQSchem
 
     @Override
     public Boolean verify(PlainText plainText, Signature signature, VerificationKey publicKey) {
+        return PairingProduct.allOne(getVerificationEquations(plainText, signature, publicKey));
+    }
+
+    /**
+     * Returns the two PPEs of the scheme, or null if sigma_2_Y or sigma_2_hat_Y is the neutral element.
+     * <p>
+     * First pairing product equation: e(Z,\hat{Y})^{-1} * \prod_{i \in [l]} e(M_i,\hat{X}_i) = 1_{G_T}
+     * Second pairing product equation: e(P,\hat{Y})^{-1} * e(Y,\hat{P}) = 1_{G_T}
+     * When both are combined with a random small exponent rho (see {@link PairingProduct#combineRandomized(List)}),
+     * the pairings with the same G_2 argument are merged, giving
+     * e((Z * P^{rho})^{-1},\hat{Y}) * e(Y^{rho},\hat{P}) * \prod_{i \in [l]} e(M_i,\hat{X}_i) = 1_{G_T},
+     * i.e. a single product of l+2 pairings.
+     */
+    @Override
+    public List<PairingProduct> getVerificationEquations(PlainText plainText, Signature signature,
+                                                         VerificationKey publicKey) {
         if (plainText instanceof GroupElementPlainText) {
             plainText = new MessageBlock(plainText);
         }
@@ -154,38 +175,19 @@ public class SPSEQSignatureScheme implements StructurePreservingSignatureEQSchem
 
         // invalid signature if sigma_2_Y == 1_{G_1} or if sigma_2_hat_Y == 1_{G_2}
         if (sigma.getGroup1ElementSigma2Y().isNeutralElement() || sigma.getGroup2ElementSigma3HatY().isNeutralElement())
-            return false;
+            return null;
 
-        // Check if verification equation of multi message signature scheme holds
-        // First pairing product equation: e(Z,\hat{Y})^{-1} * \prod_{i \in [l]} e(M_i,\hat{X}_i) = 1_{G_T}
-        GroupElement firstPPE = pp.getBilinearMap()
-                .apply(sigma.getGroup1ElementSigma1Z(), sigma.getGroup2ElementSigma3HatY())
-                .inv();
+        PairingProduct firstPPE = new PairingProduct(pp.getBilinearMap());
+        firstPPE.divide(sigma.getGroup1ElementSigma1Z(), sigma.getGroup2ElementSigma3HatY());
         for (int i = 0; i < pk.getNumberOfMessages(); i++) {
-            firstPPE = firstPPE.op(
-                    pp.getBilinearMap().apply(
-                            ((GroupElementPlainText) messageBlock.get(i)).get(),
-                            pk.getGroup2ElementsHatXi()[i]
-                    )
-            );
+            firstPPE.multiply(((GroupElementPlainText) messageBlock.get(i)).get(), pk.getGroup2ElementsHatXi()[i]);
         }
-        firstPPE.compute();
-
-        // Second pairing product equation: e(P,\hat{Y})^{-1} * e(Y,\hat{P}) = 1_{G_T}
-        GroupElement secondPPE = pp.getBilinearMap()
-                .apply(pp.getGroup1ElementP(), sigma.getGroup2ElementSigma3HatY())
-                .inv();
-        secondPPE = secondPPE.op(
-                pp.getBilinearMap().apply(
-                        sigma.getGroup1ElementSigma2Y(),
-                        pp.getGroup2ElementHatP()
-                )
-        );
-        secondPPE.compute();
 
-        GroupElement neutral = pp.getBilinearMap().getGT().getNeutralElement();
+        PairingProduct secondPPE = new PairingProduct(pp.getBilinearMap());
+        secondPPE.divide(pp.getGroup1ElementP(), sigma.getGroup2ElementSigma3HatY());
+        secondPPE.multiply(sigma.getGroup1ElementSigma2Y(), pp.getGroup2ElementHatP());
 
-        return firstPPE.equals(neutral) && secondPPE.equals(neutral);
+        return Arrays.asList(firstPPE, secondPPE);
     }
 
     @Override
@@ -222,6 +224,96 @@ public class SPSEQSignatureScheme implements StructurePreservingSignatureEQSchem
         return chgRep(signature, mu, publicKey);
     }
 
+    /**
+     * Computes {@code k} fresh representatives of the equivalence class of {@code plainText}, each together with a
+     * matching signature, e.g. to prepare credential shows in advance.
+     * <p>
+     * This is equivalent to {@code k} calls of {@link #chgRepMessage(PlainText, Zn.ZnElement)} and
+     * {@link #chgRep(Signature, Zn.ZnElement, VerificationKey)} with random \(\mu\), but cheaper:
+     * fixed-base tables are computed once for (copies of) the signature components and message elements,
+     * all randomizers \(\psi\) are inverted at once (see {@link BatchInversionUtil}),
+     * and all exponentiations are computed concurrently.
+     * <p>
+     * If you have not yet verified the signature on the plaintext under the given verification key, use
+     * {@link #chgRepBatchWithVerify(PlainText, Signature, int, VerificationKey)} instead.
+     *
+     * @param k number of representatives to compute
+     * @return the new representatives
+     */
+    public List<SPSEQRepresentative> chgRepBatch(PlainText plainText, Signature signature, int k,
+                                                 VerificationKey publicKey) {
+        if (plainText instanceof GroupElementPlainText) {
+            plainText = new MessageBlock(plainText);
+        }
+        if (!(plainText instanceof MessageBlock)) {
+            throw new IllegalArgumentException("Not a valid plain text for this scheme");
+        }
+        if (!(signature instanceof SPSEQSignature)) {
+            throw new IllegalArgumentException("Not a valid signature for this scheme");
+        }
+        if (!(publicKey instanceof SPSEQVerificationKey)) {
+            throw new IllegalArgumentException("Not a valid public key for this scheme");
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("Number of representatives must not be negative, but it is: " + k);
+        }
+
+        Zp zp = pp.getZp();
+        ZpElement[] mus = new ZpElement[k];
+        ZpElement[] psis = new ZpElement[k];
+        for (int j = 0; j < k; j++) {
+            mus[j] = zp.getUniformlyRandomUnit();
+            psis[j] = zp.getUniformlyRandomUnit();
+        }
+        ZpElement[] psiInvs = BatchInversionUtil.batchInvert(psis);
+
+        SPSEQSignature sigma = (SPSEQSignature) signature;
+        List<GroupElement> bases = new ArrayList<>();
+        bases.add(sigma.getGroup1ElementSigma1Z());
+        bases.add(sigma.getGroup1ElementSigma2Y());
+        bases.add(sigma.getGroup2ElementSigma3HatY());
+        ((MessageBlock) plainText).stream().map(m -> ((GroupElementPlainText) m).get()).forEach(bases::add);
+        if (k > 1) {
+            // the tables pay off as soon as each base is raised to more than one exponent. They are built on copies,
+            //      so the caller's signature and message do not keep them after this call
+            bases.replaceAll(base -> base.getStructure().restoreElement(base.getRepresentation()).precomputePow());
+        }
+
+        List<SPSEQRepresentative> representatives = new ArrayList<>(k);
+        for (int j = 0; j < k; j++) {
+            ZpElement mu = mus[j];
+            MessageBlock message = new MessageBlock(
+                    bases.subList(3, bases.size())
+                            .stream()
+                            .map(m -> m.pow(mu).compute())
+                            .map(GroupElementPlainText::new)
+                            .collect(Collectors.toList())
+            );
+            SPSEQSignature sigmaChgRep = new SPSEQSignature(
+                    bases.get(0).pow(psis[j].mul(mu)).compute(),
+                    bases.get(1).pow(psiInvs[j]).compute(),
+                    bases.get(2).pow(psiInvs[j]).compute()
+            );
+            representatives.add(new SPSEQRepresentative(message, sigmaChgRep, mu));
+        }
+        return representatives;
+    }
+
+    /**
+     * Same as {@link #chgRepBatch(PlainText, Signature, int, VerificationKey)} but verifies the signature (once)
+     * before computing the representatives.
+     *
+     * @return null if the given signature is not valid for {@code plainText} under {@code publicKey},
+     * else the new representatives
+     */
+    public List<SPSEQRepresentative> chgRepBatchWithVerify(PlainText plainText, Signature signature, int k,
+                                                           VerificationKey publicKey) {
+        if (!verify(plainText, signature, publicKey)) {
+            return null;
+        }
+        return chgRepBatch(plainText, signature, k, publicKey);
+    }
+
     @Override
     public PlainText chgRepMessage(PlainText plainText, Zn.ZnElement mu) {
         if (plainText instanceof GroupElementPlainText) {
@@ -4,6 +4,8 @@ import org.cryptimeleon.craco.common.plaintexts.GroupElementPlainText;
 import org.cryptimeleon.craco.common.plaintexts.MessageBlock;
 import org.cryptimeleon.craco.common.plaintexts.PlainText;
 import org.cryptimeleon.craco.sig.*;
+import org.cryptimeleon.craco.sig.sps.PairingProduct;
+import org.cryptimeleon.craco.sig.sps.SPSPairingProductVerifier;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.ReprUtil;
 import org.cryptimeleon.math.serialization.annotations.Represented;
@@ -14,6 +16,8 @@ import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.IntStream;
 
@@ -33,7 +37,7 @@ import java.util.stream.IntStream;
  * ACM CCS 2017. pp. 683–699. ACM Press
  */
 
-public class SPSGroth15SignatureScheme implements MultiMessageStructurePreservingSignatureScheme {
+public class SPSGroth15SignatureScheme implements SPSPairingProductVerifier {
 
     /**
      * Public parameters of the signature scheme.
@@ -122,6 +126,20 @@ public class SPSGroth15SignatureScheme implements MultiMessageStructurePreservin
 
     @Override
     public Boolean verify(PlainText plainText, Signature signature, VerificationKey publicKey) {
+        return PairingProduct.allOne(getVerificationEquations(plainText, signature, publicKey));
+    }
+
+    /**
+     * Returns the PPEs e(S, \hat{R}) = e(Y_1, \hat{G}) * e(G, V) and e(T_i, \hat{R}) = e(Y_i, V) * e(M_i, \hat{G})
+     * for all i, or null if the signature does not match the message length.
+     * <p>
+     * The pairings are grouped by their argument from the other group, so combining the equations
+     * (see {@link PairingProduct#combineRandomized(List)}) leaves only three pairings:
+     * e(S * prod T_i^{rho_i}, \hat{R}) * e(G^{-1} * prod Y_i^{-rho_i}, V) * e(Y_1^{-1} * prod M_i^{-rho_i}, \hat{G}) = 1
+     */
+    @Override
+    public List<PairingProduct> getVerificationEquations(PlainText plainText, Signature signature,
+                                                         VerificationKey publicKey) {
         if (plainText instanceof GroupElementPlainText) {
             plainText = new MessageBlock(plainText);
         }
@@ -142,30 +160,45 @@ public class SPSGroth15SignatureScheme implements MultiMessageStructurePreservin
 
 
 
-        // Check if verification equation of multi message signature scheme holds
-        GroupElement firstPPE = applyMap(sigma.getGroupElementSigma2S(), sigma.getGroupElementSigma1HatR());
-        GroupElement firstPPERHS = applyMap(pp.getGroupElementsYi().get(0), pp.getOtherGroupGenerator()).op(applyMap(pp.getPlaintextGroupGenerator(), pk.groupElementV));
-        firstPPE.compute();
-        firstPPERHS.compute();
+        int numberOfMessages = pp.getNumberOfMessages();
+        if (messageBlock.length() != numberOfMessages
+                || sigma.getGroupElementSigma3Ti().length() != numberOfMessages) {
+            return null;
+        }
+
+        GroupElement hatR = sigma.getGroupElementSigma1HatR();
+        List<PairingProduct> ppes = new ArrayList<>();
+
+        PairingProduct firstPPE = new PairingProduct(pp.getBilinearMap());
+        multiplyMap(firstPPE, sigma.getGroupElementSigma2S(), hatR);
+        multiplyMap(firstPPE, pp.getGroupElementsYi().get(0).inv(), pp.getOtherGroupGenerator());
+        multiplyMap(firstPPE, pp.getPlaintextGroupGenerator().inv(), pk.getGroupElementV());
+        ppes.add(firstPPE);
+
+        for (int i = 0; i < numberOfMessages; i++) {
+            GroupElement mi = ((GroupElementPlainText) messageBlock.get(i)).get();
+            PairingProduct secondPPE = new PairingProduct(pp.getBilinearMap());
+            multiplyMap(secondPPE, sigma.getGroupElementSigma3Ti().get(i), hatR);
+            multiplyMap(secondPPE, pp.getGroupElementsYi().get(i).inv(), pk.getGroupElementV());
+            multiplyMap(secondPPE, mi.inv(), pp.getOtherGroupGenerator());
+            ppes.add(secondPPE);
+        }
 
-        boolean secondPPE = sigma.getGroupElementSigma3Ti().map(ti -> applyMap(ti, sigma.getGroupElementSigma1HatR()), GroupElementVector::new)
-                .equals(
-                    pp.getGroupElementsYi().map(yi -> applyMap(yi, pk.getGroupElementV()), GroupElementVector::new)
-                    .op(messageBlock.map(mi -> applyMap(((GroupElementPlainText) mi).get(), pp.getOtherGroupGenerator()))).compute()
-                );
-        return firstPPE.equals(firstPPERHS) && secondPPE;
+        return ppes;
     }
 
     /**
-     * Applies the bilinear map according to the type of the Groth15 SPS.
+     * Multiplies the given product with the pairing of the given elements, ordered according to the type of the
+     * Groth15 SPS. Factors are grouped by the element from the other group, which only takes the values
+     * \hat{R}, V and the generator of the other group during verification.
      * @param plaintextGroupElement group element from the group where the plaintext/message is from
      * @param otherGroupElement group element form the group where the plaintext/message is not from
      */
-    GroupElement applyMap(GroupElement plaintextGroupElement, GroupElement otherGroupElement){
+    private void multiplyMap(PairingProduct ppe, GroupElement plaintextGroupElement, GroupElement otherGroupElement) {
         if(pp.type == SPSGroth15PublicParametersGen.Groth15Type.type1){
-            return pp.getBilinearMap().apply(plaintextGroupElement, otherGroupElement);
+            ppe.multiply(plaintextGroupElement, otherGroupElement);
         }else{
-            return pp.getBilinearMap().apply(otherGroupElement, plaintextGroupElement);
+            ppe.multiplyGroupedByFirst(otherGroupElement, plaintextGroupElement);
         }
     }
 
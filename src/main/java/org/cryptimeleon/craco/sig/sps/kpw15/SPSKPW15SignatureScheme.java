@@ -4,6 +4,8 @@ import org.cryptimeleon.craco.common.plaintexts.GroupElementPlainText;
 import org.cryptimeleon.craco.common.plaintexts.MessageBlock;
 import org.cryptimeleon.craco.common.plaintexts.PlainText;
 import org.cryptimeleon.craco.sig.*;
+import org.cryptimeleon.craco.sig.sps.PairingProduct;
+import org.cryptimeleon.craco.sig.sps.SPSPairingProductVerifier;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.ReprUtil;
 import org.cryptimeleon.math.serialization.annotations.Represented;
@@ -14,7 +16,8 @@ import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.IntStream;
 
@@ -37,7 +40,7 @@ import java.util.stream.IntStream;
  * Attribute-Based Signatures for Circuits from Bilinear Map
  * https://eprint.iacr.org/2016/242.pdf
  */
-public class SPSKPW15SignatureScheme implements MultiMessageStructurePreservingSignatureScheme {
+public class SPSKPW15SignatureScheme implements SPSPairingProductVerifier {
 
     /**
      * The public parameters used by the scheme
@@ -92,6 +95,7 @@ public class SPSKPW15SignatureScheme implements MultiMessageStructurePreservingS
         /**
          * Kiltz et al. define e(A,B) for two matrices as AxB.
          * We apply the bilinear map to each row/column in order to calculate the result.
+         * Each entry is evaluated as a {@link PairingProduct}.
          */
         public static GroupElementVector matrixApplyMap(BilinearMap bMap,
                                                         GroupElementVector A, int rowsA, int columnsA,
@@ -116,18 +120,14 @@ public class SPSKPW15SignatureScheme implements MultiMessageStructurePreservingS
             for (int r = 1; r <= rowsA; r++) {
                 for (int c = 1; c <= columnsB; c++) {
 
-                    GroupElement value = bMap.getGT().getNeutralElement();
+                    PairingProduct value = new PairingProduct(bMap);
 
                     for (int i = 1; i <= columnsA; i++) {
-                        value = value.op(
-                                bMap.apply(A.get(getMatrixIndex(rowsA, columnsA, r, i)),
-                                        B.get(getMatrixIndex(rowsB, columnsB, i, c))
-                                )
-                        );
+                        value.multiply(A.get(getMatrixIndex(rowsA, columnsA, r, i)),
+                                B.get(getMatrixIndex(rowsB, columnsB, i, c)));
                     }
 
-                    value.compute();
-                    multiplied[getMatrixIndex(rowsA, columnsB, r,c)] = value;
+                    multiplied[getMatrixIndex(rowsA, columnsB, r,c)] = value.evaluate();
                 }
             }
 
@@ -145,6 +145,8 @@ public class SPSKPW15SignatureScheme implements MultiMessageStructurePreservingS
 
         /**
          * Utility method that calculates e((1,m),K) as specified in the signing function.
+         * The entries are not computed yet, so callers can merge further factors into the same
+         * multi-exponentiation.
          */
         public static GroupElement[] calculateSigma1MatrixMxK(GroupElement[] message, ZpElement[] K) {
 
@@ -167,7 +169,6 @@ public class SPSKPW15SignatureScheme implements MultiMessageStructurePreservingS
                     value = value.op(messageElement.pow(exponentK));
                 }
 
-                value.compute();
                 multiplied[c-1] = value;
             }
 
@@ -303,36 +304,32 @@ public class SPSKPW15SignatureScheme implements MultiMessageStructurePreservingS
             message[i] = ((GroupElementPlainText) messageBlock.get(i-1)).get();
         }
 
-        GroupElement[] sigma1lhs = MatrixUtility.calculateSigma1MatrixMxK(message, sk.getK());
-
-        GroupElement[] sigma1rhsInner = Arrays.stream(sk.getP1()).map(
-                x -> x.pow(r1).compute()
-        ).toArray(GroupElement[]::new);
+        // sigma1 = (1,m) K + r0 (P0 + r1 P1), i.e. one multi-exponentiation per entry
+        ZpElement r0r1 = r0.mul(r1);
 
-        for (int i = 0; i < sigma1rhsInner.length; i++) {
-            sigma1rhsInner[i] = sk.getP0()[i].op(sigma1rhsInner[i]);
-            sigma1rhsInner[i] = sigma1rhsInner[i].pow(r0);
-            sigma1rhsInner[i].compute();
-        }
-
-        GroupElement[] sigma1 = new GroupElement[sigma1lhs.length];
+        GroupElement[] sigma1 = MatrixUtility.calculateSigma1MatrixMxK(message, sk.getK());
 
         for (int i = 0; i < sigma1.length; i++) {
-            sigma1[i] = sigma1lhs[i].op(sigma1rhsInner[i]).compute();
+            sigma1[i] = sigma1[i]
+                    .op(sk.getP0()[i].pow(r0))
+                    .op(sk.getP1()[i].pow(r0r1))
+                    .compute();
         }
 
 
         //calculate sigma2 (1 x 2 matrix)
 
-        GroupElement[] sigma2 = new Vector<GroupElement>(pp.getG1GroupGenerator(), sk.getB()).stream().map(
-                x -> x.pow(r0).compute()
-        ).toArray(GroupElement[]::new);
+        GroupElement[] sigma2 = new GroupElement[] {
+                pp.getG1GroupGenerator().pow(r0).compute(),
+                sk.getB().pow(r0).compute()
+        };
 
-        //calculate sigma3 ( 1 x 2 matrix)
+        //calculate sigma3 ( 1 x 2 matrix), sigma3 = r1 * sigma2
 
-        GroupElement[] sigma3 = Arrays.stream(sigma2).map(
-                x -> x.pow(r1)
-        ).toArray(GroupElement[]::new);
+        GroupElement[] sigma3 = new GroupElement[] {
+                pp.getG1GroupGenerator().pow(r0r1).compute(),
+                sk.getB().pow(r0r1).compute()
+        };
 
         //calculate sigma4 (single element)
 
@@ -385,6 +382,13 @@ public class SPSKPW15SignatureScheme implements MultiMessageStructurePreservingS
 
     @Override
     public Boolean verify(PlainText plainText, Signature signature, VerificationKey publicKey) {
+        // all PPEs are combined with random small exponents and evaluated as a single product of pairings
+        return PairingProduct.allOne(getVerificationEquations(plainText, signature, publicKey));
+    }
+
+    @Override
+    public List<PairingProduct> getVerificationEquations(PlainText plainText, Signature signature,
+                                                         VerificationKey publicKey) {
 
         if((plainText instanceof GroupElementPlainText)){
             plainText = new MessageBlock(plainText); //if only a single element was given, wrap it in a MessageBlock
@@ -422,77 +426,58 @@ public class SPSKPW15SignatureScheme implements MultiMessageStructurePreservingS
         //sigma4 is only a single group element
 
 
-        return evaluateFirstPPE(sigma1, sigma2, sigma3, messageBlock, C, C0, C1, pk.getA())
-                && evaluateSecondPPE(sigma2, sigma.getGroup2ElementSigma4U(), sigma3);
+        List<PairingProduct> ppes = new ArrayList<>();
+        ppes.add(firstPPE(sigma1, sigma2, sigma3, messageBlock, C, C0, C1, pk.getA()));
+        for (int i = 0; i < sigma2.length(); i++) {
+            ppes.add(secondPPE(sigma2, sigma.getGroup2ElementSigma4U(), sigma3, i));
+        }
+
+        return ppes;
     }
 
 
     /**
-     * Evaluates the first PPE as defined in the paper.
+     * Returns the first PPE as defined in the paper, as a product that is 1 iff the equation holds:
+     * e(sigma1, (H, A)^T)^{-1} * e((1,m), C) * e(sigma2, C0) * e(sigma3, C1).
      */
-    private boolean evaluateFirstPPE(GroupElementVector sigma1,
-                                     GroupElementVector sigma2,
-                                     GroupElementVector sigma3,
-                                     MessageBlock paddedMessage,
-                                     GroupElementVector C,
-                                     GroupElementVector C0,
-                                     GroupElementVector C1,
-                                     GroupElement A) {
-
-        BilinearMap bMap = pp.getBilinearMap();
+    private PairingProduct firstPPE(GroupElementVector sigma1,
+                                    GroupElementVector sigma2,
+                                    GroupElementVector sigma3,
+                                    MessageBlock paddedMessage,
+                                    GroupElementVector C,
+                                    GroupElementVector C0,
+                                    GroupElementVector C1,
+                                    GroupElement A) {
 
-        GroupElement[] message = paddedMessage.stream().map(
-                x->((GroupElementPlainText)x).get()
-        ).toArray(GroupElement[]::new);
+        PairingProduct ppe = new PairingProduct(pp.getBilinearMap());
 
         //for matrices, Kiltz et al. define e(A,B) = AxB
         //note how these all result in a 1x1 matrix / a single group element
 
-        GroupElementVector ppe1lhs = MatrixUtility.matrixApplyMap(
-                bMap,
-                sigma1, 1, 2,
-                new GroupElementVector(pp.getG2GroupGenerator(), A), 2, 1
-                ).compute();
+        ppe.divide(sigma1.get(0), pp.getG2GroupGenerator());
+        ppe.divide(sigma1.get(1), A);
 
-        GroupElementVector ppe1rhs1 = MatrixUtility.matrixApplyMap(
-                bMap,
-                new GroupElementVector(message), 1, message.length,
-                C, message.length, 1);
-
-        GroupElementVector ppe1rhs2 = MatrixUtility.matrixApplyMap(
-                bMap,
-                sigma2, 1, 2,
-                C0, 2, 1);
-
-        GroupElementVector ppe1rhs3 = MatrixUtility.matrixApplyMap(bMap,
-                sigma3, 1, 2,
-                C1, 2, 1);
+        for (int i = 0; i < paddedMessage.length(); i++) {
+            ppe.multiply(((GroupElementPlainText) paddedMessage.get(i)).get(), C.get(i));
+        }
 
-        GroupElementVector ppe1rhs = ppe1rhs1.op(ppe1rhs2).op(ppe1rhs3).compute();
+        for (int i = 0; i < 2; i++) {
+            ppe.multiply(sigma2.get(i), C0.get(i));
+            ppe.multiply(sigma3.get(i), C1.get(i));
+        }
 
-        return ppe1lhs.equals(ppe1rhs);
+        return ppe;
     }
 
     /**
-     * Evaluates the second PPE as defined in the paper.
+     * Returns the i-th entry of the second PPE as defined in the paper, as a product that is 1 iff the equation
+     * holds: e(sigma2_i, sigma4) * e(sigma3_i, H)^{-1}.
      */
-    private boolean evaluateSecondPPE(GroupElementVector sigma2, GroupElement sigma4, GroupElementVector sigma3) {
-
-        BilinearMap bMap = pp.getBilinearMap();
-
-        GroupElementVector ppe2lhs = MatrixUtility.matrixApplyMap(
-                bMap,
-                sigma2, 1, 2,
-                new GroupElementVector(sigma4, sigma4), 2, 1
-                );
-
-        GroupElementVector ppe2rhs = MatrixUtility.matrixApplyMap(
-                bMap,
-                sigma3, 1, 2,
-                new GroupElementVector(pp.getG2GroupGenerator(), pp.getG2GroupGenerator()), 2, 1
-                );
-
-        return ppe2lhs.equals(ppe2rhs);
+    private PairingProduct secondPPE(GroupElementVector sigma2, GroupElement sigma4, GroupElementVector sigma3,
+                                     int i) {
+        return new PairingProduct(pp.getBilinearMap())
+                .multiply(sigma2.get(i), sigma4)
+                .divide(sigma3.get(i), pp.getG2GroupGenerator());
     }
 
     /**
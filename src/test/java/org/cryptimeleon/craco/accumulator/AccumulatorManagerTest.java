@@ -0,0 +1,109 @@
+package org.cryptimeleon.craco.accumulator;
+
+import org.cryptimeleon.craco.accumulator.nguyen.NguyenAccumulatorScheme;
+import org.cryptimeleon.math.structures.groups.debug.DebugBilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class AccumulatorManagerTest {
+
+    private NguyenAccumulatorScheme scheme;
+    private Zn zn;
+
+    @Before
+    public void setup() {
+        BilinearGroup group = new DebugBilinearGroup(BilinearGroup.Type.TYPE_3);
+        scheme = NguyenAccumulatorScheme.setup(group, 30);
+        zn = group.getZn();
+    }
+
+    private List<Zn.ZnElement> randomValues(int num) {
+        return Stream.generate(zn::getUniformlyRandomElement).limit(num).collect(Collectors.toList());
+    }
+
+    private void assertAllWitnessesValid(AccumulatorManager<Zn.ZnElement> manager) {
+        for (Zn.ZnElement value : manager.getAccumulatedValues()) {
+            assertTrue(scheme.verify(manager.getDigest(), value, manager.getWitness(value)));
+        }
+    }
+
+    @Test
+    public void testIncrementalUpdates() {
+        List<Zn.ZnElement> initial = randomValues(10);
+        AccumulatorManager<Zn.ZnElement> manager = new AccumulatorManager<>(scheme, initial);
+        assertAllWitnessesValid(manager);
+
+        List<Zn.ZnElement> inserted = randomValues(5);
+        assertEquals(1, manager.insert(inserted));
+        assertAllWitnessesValid(manager);
+
+        List<Zn.ZnElement> deleted = Arrays.asList(initial.get(0), inserted.get(1));
+        List<Zn.ZnElement> insertedAgain = randomValues(3);
+        assertEquals(2, manager.update(insertedAgain, deleted));
+        assertAllWitnessesValid(manager);
+        assertFalse(manager.contains(initial.get(0)));
+        assertEquals(16, manager.getAccumulatedValues().size());
+        assertEquals(scheme.createDigest(manager.getAccumulatedValues()), manager.getDigest());
+
+        assertEquals(1, manager.getEpochLog(1).size());
+        assertEquals(deleted, manager.getEpochLog(1).get(0).getDeletedValues());
+    }
+
+    @Test
+    public void testDigestUpdater() {
+        List<Zn.ZnElement> values = randomValues(6);
+        Set<Zn.ZnElement> current = new LinkedHashSet<>(values.subList(0, 3));
+        AccumulatorDigestUpdater<Zn.ZnElement> updater = scheme.createDigestUpdater(current);
+        assertEquals(scheme.createDigest(current), updater.getDigest());
+
+        for (Zn.ZnElement value : values.subList(3, 6)) {
+            current.add(value);
+            assertEquals(scheme.createDigest(current), updater.insert(value));
+        }
+        for (Zn.ZnElement value : Arrays.asList(values.get(4), values.get(0), values.get(5))) {
+            current.remove(value);
+            assertEquals(scheme.createDigest(current), updater.delete(value));
+        }
+        for (Zn.ZnElement value : new ArrayList<>(current)) {
+            current.remove(value);
+            assertEquals(scheme.createDigest(current), updater.delete(value));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeleteNonMember() {
+        AccumulatorManager<Zn.ZnElement> manager = new AccumulatorManager<>(scheme, randomValues(3));
+        manager.delete(randomValues(1));
+    }
+
+    @Test
+    public void testSnapshot() throws IOException {
+        AccumulatorManager<Zn.ZnElement> manager = new AccumulatorManager<>(scheme);
+        manager.insert(randomValues(4));
+        manager.insert(randomValues(2));
+
+        Path file = Files.createTempFile("accumulator", ".json");
+        try {
+            manager.writeSnapshot(file);
+            AccumulatorManager<Zn.ZnElement> restored = AccumulatorManager.readSnapshot(scheme, file);
+            assertEquals(manager.getEpoch(), restored.getEpoch());
+            assertEquals(manager.getDigest(), restored.getDigest());
+            assertEquals(manager.getAccumulatedValues(), restored.getAccumulatedValues());
+            assertEquals(manager.getEpochLog(0), restored.getEpochLog(0));
+            assertAllWitnessesValid(restored);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
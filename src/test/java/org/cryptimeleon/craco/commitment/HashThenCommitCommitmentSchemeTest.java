@@ -0,0 +1,76 @@
+package org.cryptimeleon.craco.commitment;
+
+import org.cryptimeleon.craco.commitment.hashthencommit.HashThenCommitCommitmentScheme;
+import org.cryptimeleon.craco.commitment.hashthencommit.StreamingHashThenCommitter;
+import org.cryptimeleon.craco.commitment.pedersen.PedersenCommitmentScheme;
+import org.cryptimeleon.craco.common.ByteArrayImplementation;
+import org.cryptimeleon.craco.protocols.arguments.damgardtechnique.DamgardTechnique;
+import org.cryptimeleon.math.hash.impl.SHA256HashFunction;
+import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.structures.groups.debug.DebugGroup;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+
+import static org.junit.Assert.*;
+
+public class HashThenCommitCommitmentSchemeTest {
+
+    private HashThenCommitCommitmentScheme scheme;
+    private byte[] message;
+
+    @Before
+    public void setup() {
+        Zn zn = new Zn(BigInteger.valueOf(2).pow(260));
+        scheme = new HashThenCommitCommitmentScheme(new PedersenCommitmentScheme(zn.asAdditiveGroup(), 1),
+                new SHA256HashFunction());
+        message = RandomGenerator.getRandomBytes(100_000);
+    }
+
+    @Test
+    public void testStreamingCommitMatchesPlainCommit() throws IOException {
+        StreamingHashThenCommitter committer = scheme.commitStreaming();
+        committer.write(message, 0, 1234);
+        committer.write(message, 1234, message.length - 1234);
+        committer.close();
+        CommitmentPair pair = committer.getCommitmentPair();
+
+        assertTrue(scheme.verify(pair.getCommitment(), pair.getOpenValue(), new ByteArrayImplementation(message)));
+        assertTrue(scheme.verify(pair.getCommitment(), pair.getOpenValue(), new ByteArrayInputStream(message)));
+    }
+
+    @Test
+    public void testStreamingVerifyWithWrongMessage() throws IOException {
+        CommitmentPair pair = scheme.commit(new ByteArrayInputStream(message));
+        byte[] wrongMessage = message.clone();
+        wrongMessage[42] ^= 1;
+        assertFalse(scheme.verify(pair.getCommitment(), pair.getOpenValue(), new ByteArrayInputStream(wrongMessage)));
+    }
+
+    @Test
+    public void testStreamingWithDamgardCommitmentScheme() throws IOException {
+        // DamgardTechnique uses a VariableOutputLengthHashFunction, which is not hashed incrementally
+        HashThenCommitCommitmentScheme damgardScheme = (HashThenCommitCommitmentScheme)
+                DamgardTechnique.generateCommitmentScheme(new DebugGroup("test", RandomGenerator.getRandomPrime(128)));
+
+        StreamingHashThenCommitter committer = damgardScheme.commitStreaming();
+        committer.write(message, 0, 1234);
+        committer.write(message, 1234, message.length - 1234);
+        committer.close();
+        CommitmentPair streamed = committer.getCommitmentPair();
+        assertTrue(damgardScheme.verify(streamed.getCommitment(), streamed.getOpenValue(),
+                new ByteArrayImplementation(message)));
+
+        CommitmentPair plain = damgardScheme.commit(new ByteArrayImplementation(message));
+        assertTrue(damgardScheme.verify(plain.getCommitment(), plain.getOpenValue(), new ByteArrayInputStream(message)));
+
+        byte[] wrongMessage = message.clone();
+        wrongMessage[42] ^= 1;
+        assertFalse(damgardScheme.verify(plain.getCommitment(), plain.getOpenValue(),
+                new ByteArrayInputStream(wrongMessage)));
+    }
+}
@@ -0,0 +1,98 @@
+package org.cryptimeleon.craco.commitment;
+
+import org.cryptimeleon.craco.commitment.pedersen.PedersenCommitment;
+import org.cryptimeleon.craco.commitment.pedersen.PedersenCommitmentScheme;
+import org.cryptimeleon.craco.commitment.pedersen.SeededPedersenCommitmentScheme;
+import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.structures.groups.Group;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.cartesian.GroupElementVector;
+import org.cryptimeleon.math.structures.groups.debug.DebugBilinearGroup;
+import org.cryptimeleon.math.structures.groups.debug.DebugGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
+import org.cryptimeleon.math.structures.rings.cartesian.RingElementVector;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class PedersenCommitmentSchemeTest {
+
+    private Group group;
+    private PedersenCommitmentScheme scheme;
+
+    @Before
+    public void setup() {
+        group = new DebugGroup("test", RandomGenerator.getRandomPrime(80));
+        scheme = new PedersenCommitmentScheme(group, 5);
+    }
+
+    private List<RingElementVector> randomVectors(int num) {
+        return Stream.generate(() -> group.getZn().getUniformlyRandomElements(5))
+                .limit(num)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testCommitBatch() {
+        List<RingElementVector> values = randomVectors(10);
+        List<CommitmentPair> pairs = scheme.commitBatch(values);
+        assertEquals(values.size(), pairs.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertTrue(scheme.verify(pairs.get(i).getCommitment(), pairs.get(i).getOpenValue(), values.get(i)));
+        }
+    }
+
+    @Test
+    public void testVerifyBatch() {
+        List<RingElementVector> values = randomVectors(9);
+        List<CommitmentPair> pairs = scheme.commitBatch(values);
+        List<Commitment> commitments = pairs.stream().map(CommitmentPair::getCommitment).collect(Collectors.toList());
+        List<OpenValue> openValues = pairs.stream().map(CommitmentPair::getOpenValue).collect(Collectors.toList());
+
+        assertTrue(scheme.verifyBatch(commitments, openValues, values));
+        assertTrue(scheme.findInvalidOpenings(commitments, openValues, values).isEmpty());
+
+        List<RingElementVector> wrongValues = new ArrayList<>(values);
+        wrongValues.set(2, group.getZn().getUniformlyRandomElements(5));
+        wrongValues.set(7, group.getZn().getUniformlyRandomElements(5));
+        assertFalse(scheme.verifyBatch(commitments, openValues, wrongValues));
+        assertEquals(Arrays.asList(2, 7), scheme.findInvalidOpenings(commitments, openValues, wrongValues));
+    }
+
+    @Test
+    public void testLargeDimensionMatchesInnerProduct() {
+        int dimension = PedersenCommitmentScheme.LARGE_DIMENSION_THRESHOLD + 37;
+        GroupElement g = group.getUniformlyRandomNonNeutral();
+        GroupElementVector h = group.getUniformlyRandomElements(dimension);
+        PedersenCommitmentScheme largeScheme = new PedersenCommitmentScheme(group, g, h);
+
+        RingElementVector values = group.getZn().getUniformlyRandomElements(dimension);
+        Zn.ZnElement randomness = group.getZn().getUniformlyRandomElement();
+        CommitmentPair pair = largeScheme.commit(values, randomness);
+        assertEquals(h.innerProduct(values).op(g.pow(randomness)).compute(),
+                ((PedersenCommitment) pair.getCommitment()).get());
+        assertTrue(largeScheme.verify(pair.getCommitment(), pair.getOpenValue(), values));
+    }
+
+    @Test
+    public void testSeededLargeDimension() {
+        BilinearGroup bilinearGroup = new DebugBilinearGroup(BilinearGroup.Type.TYPE_3);
+        int dimension = PedersenCommitmentScheme.LARGE_DIMENSION_THRESHOLD + 10;
+        byte[] seed = {1, 2, 3};
+        SeededPedersenCommitmentScheme seeded = new SeededPedersenCommitmentScheme(bilinearGroup.getG1(),
+                bilinearGroup.getHashIntoG1(), seed, dimension);
+        assertEquals(seeded, new SeededPedersenCommitmentScheme(seeded.getRepresentation()));
+
+        RingElementVector values = bilinearGroup.getZn().getUniformlyRandomElements(dimension);
+        CommitmentPair pair = seeded.commit(values);
+        assertTrue(seeded.verify(pair.getCommitment(), pair.getOpenValue(), values));
+    }
+}
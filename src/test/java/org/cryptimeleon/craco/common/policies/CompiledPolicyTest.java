@@ -0,0 +1,40 @@
+package org.cryptimeleon.craco.common.policies;
+
+import org.cryptimeleon.craco.common.attributes.StringAttribute;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class CompiledPolicyTest {
+
+    @Test
+    public void testMatchesPolicyEvaluation() {
+        List<StringAttribute> attributes = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attributes.add(new StringAttribute("A" + i));
+        }
+        // (A0 and A1) or 2 of (A2, A3 or A4, A5 and A6 and A0), or A7 and A7
+        Policy policy = new BooleanPolicy(BooleanPolicy.BooleanOperator.OR,
+                new BooleanPolicy(BooleanPolicy.BooleanOperator.AND, attributes.get(0), attributes.get(1)),
+                new ThresholdPolicy(2, attributes.get(2),
+                        new BooleanPolicy(BooleanPolicy.BooleanOperator.OR, attributes.get(3), attributes.get(4)),
+                        new ThresholdPolicy(3, attributes.get(5), attributes.get(6), attributes.get(0))),
+                new ThresholdPolicy(2, attributes.get(7), attributes.get(7)));
+        CompiledPolicy compiled = new CompiledPolicy(policy);
+        assertEquals(8, compiled.getNumberOfFacts());
+
+        // check all subsets of attributes
+        for (int subset = 0; subset < (1 << attributes.size()); subset++) {
+            Set<PolicyFact> facts = new HashSet<>();
+            for (int i = 0; i < attributes.size(); i++) {
+                if ((subset & (1 << i)) != 0) {
+                    facts.add(attributes.get(i));
+                }
+            }
+            assertEquals(policy.isFulfilled(facts), compiled.isFulfilled(facts));
+            assertEquals(policy.isFulfilled(facts), compiled.isFulfilled(compiled.toBitSet(facts)));
+        }
+    }
+}
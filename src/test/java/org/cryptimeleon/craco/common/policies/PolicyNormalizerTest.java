@@ -0,0 +1,50 @@
+package org.cryptimeleon.craco.common.policies;
+
+import org.cryptimeleon.craco.common.attributes.StringAttribute;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class PolicyNormalizerTest {
+
+    @Test
+    public void testNormalize() {
+        StringAttribute a = new StringAttribute("A");
+        StringAttribute b = new StringAttribute("B");
+        StringAttribute c = new StringAttribute("C");
+        StringAttribute d = new StringAttribute("D");
+        List<StringAttribute> attributes = Arrays.asList(a, b, c, d);
+
+        // (A and (B and C)) or (1 of (D)) or (A and (C and B)) or 2 of (A, A)
+        Policy policy = new BooleanPolicy(BooleanPolicy.BooleanOperator.OR,
+                new BooleanPolicy(BooleanPolicy.BooleanOperator.AND, a,
+                        new BooleanPolicy(BooleanPolicy.BooleanOperator.AND, b, c)),
+                new ThresholdPolicy(1, d),
+                new ThresholdPolicy(2, a, new ThresholdPolicy(2, c, b)),
+                new ThresholdPolicy(2, a, a));
+        PolicyNormalizer normalizer = new PolicyNormalizer(policy);
+
+        // 3 of (A, B, C) or D or A
+        assertEquals(9, normalizer.getNumberOfLeavesBefore());
+        assertEquals(5, normalizer.getNumberOfLeavesAfter());
+        assertEquals(16, normalizer.getNumberOfNodesBefore());
+        assertEquals(7, normalizer.getNumberOfNodesAfter());
+
+        Policy normalized = normalizer.getNormalizedPolicy();
+        for (int subset = 0; subset < (1 << attributes.size()); subset++) {
+            Set<PolicyFact> facts = new HashSet<>();
+            for (int i = 0; i < attributes.size(); i++) {
+                if ((subset & (1 << i)) != 0) {
+                    facts.add(attributes.get(i));
+                }
+            }
+            assertEquals(policy.isFulfilled(facts), normalized.isFulfilled(facts));
+        }
+
+        Policy reordered = new BooleanPolicy(BooleanPolicy.BooleanOperator.OR, new ThresholdPolicy(2, a, a),
+                new ThresholdPolicy(3, c, b, a), d);
+        assertEquals(normalized, new PolicyNormalizer(reordered).getNormalizedPolicy());
+    }
+}
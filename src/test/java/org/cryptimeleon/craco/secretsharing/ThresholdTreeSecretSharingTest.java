@@ -0,0 +1,116 @@
+package org.cryptimeleon.craco.secretsharing;
+
+import org.cryptimeleon.craco.common.attributes.StringAttribute;
+import org.cryptimeleon.craco.common.policies.Policy;
+import org.cryptimeleon.craco.common.policies.ThresholdPolicy;
+import org.cryptimeleon.craco.secretsharing.shamir.ShamirSecretSharingSchemeProvider;
+import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ThresholdTreeSecretSharingTest {
+
+    private static final int LEAVES_PER_SUBTREE = 20;
+
+    private Zp field;
+    private SecretSharingSchemeProvider provider;
+
+    @Before
+    public void setup() {
+        field = new Zp(RandomGenerator.getRandomPrime(80));
+        provider = new ShamirSecretSharingSchemeProvider();
+    }
+
+    /**
+     * Creates the policy 2 of (t1 of (A0, ..., A19), 3 of (B0, ..., B19), 3 of (C0, ..., C19)),
+     * where the i-th leaf of the subtree {@code replacedSubtree} is replaced by X.
+     */
+    private ThresholdPolicy createPolicy(int firstThreshold, int firstSubtreeSize, char replacedSubtree,
+                                         int replacedLeaf) {
+        List<Policy> subtrees = new ArrayList<>();
+        for (char name = 'A'; name <= 'C'; name++) {
+            List<Policy> leaves = new ArrayList<>();
+            for (int i = 0; i < (name == 'A' ? firstSubtreeSize : LEAVES_PER_SUBTREE); i++) {
+                leaves.add(new StringAttribute(name == replacedSubtree && i == replacedLeaf ? "X" : name + "" + i));
+            }
+            subtrees.add(new ThresholdPolicy(name == 'A' ? firstThreshold : 3, leaves));
+        }
+        return new ThresholdPolicy(2, subtrees);
+    }
+
+    private ThresholdTreeSecretSharing createSharing(int firstThreshold, int firstSubtreeSize, char replacedSubtree,
+                                                     int replacedLeaf) {
+        return new ThresholdTreeSecretSharing(createPolicy(firstThreshold, firstSubtreeSize, replacedSubtree,
+                replacedLeaf), field, provider);
+    }
+
+    private Map<Integer, Zp.ZpElement> restrict(Map<Integer, Zp.ZpElement> shares, int... ids) {
+        Map<Integer, Zp.ZpElement> result = new HashMap<>();
+        for (int id : ids) {
+            result.put(id, shares.get(id));
+        }
+        return result;
+    }
+
+    @Test
+    public void testParallelSharingAndCompletion() {
+        ThresholdTreeSecretSharing lsss = createSharing(3, LEAVES_PER_SUBTREE, ' ', -1);
+        assertTrue(lsss.getShareReceiverMap().size() >= ThresholdTreeSecretSharing.PARALLEL_SHARING_THRESHOLD);
+        Zp.ZpElement secret = field.getUniformlyRandomElement();
+
+        Map<Integer, Zp.ZpElement> shares = lsss.getShares(secret);
+        assertEquals(3 * LEAVES_PER_SUBTREE, shares.size());
+        assertEquals(secret, lsss.reconstruct(restrict(shares, 1, 2, 3, 21, 22, 23)));
+        assertEquals(secret, lsss.reconstruct(restrict(shares, 5, 10, 20, 41, 50, 60)));
+        assertTrue(lsss.checkShareConsistency(secret, shares));
+
+        Map<Integer, Zp.ZpElement[]> bulkShares = lsss.getShares(Arrays.asList(secret, secret.neg()));
+        Map<Integer, Zp.ZpElement> secondShares = new HashMap<>();
+        bulkShares.forEach((id, share) -> secondShares.put(id, share[1]));
+        assertEquals(secret.neg(), lsss.reconstruct(restrict(secondShares, 21, 30, 40, 41, 42, 43)));
+
+        Map<Integer, Zp.ZpElement> completed = lsss.completeShares(secret, restrict(shares, 1, 2));
+        assertEquals(shares.size(), completed.size());
+        assertEquals(shares.get(1), completed.get(1));
+        assertEquals(shares.get(2), completed.get(2));
+        assertTrue(lsss.checkShareConsistency(secret, completed));
+    }
+
+    @Test
+    public void testUpdateShares() {
+        ThresholdTreeSecretSharing lsss = createSharing(3, LEAVES_PER_SUBTREE, ' ', -1);
+        Zp.ZpElement secret = field.getUniformlyRandomElement();
+        Map<Integer, Zp.ZpElement> shares = lsss.getShares(secret);
+
+        // changed threshold: only the first subtree is re-shared
+        ThresholdTreeSecretSharing changedThreshold = createSharing(4, LEAVES_PER_SUBTREE, ' ', -1);
+        Map<Integer, Zp.ZpElement> updated = lsss.updateShares(shares, changedThreshold);
+        for (int i = LEAVES_PER_SUBTREE + 1; i <= 3 * LEAVES_PER_SUBTREE; i++) {
+            assertEquals(shares.get(i), updated.get(i));
+        }
+        assertTrue(changedThreshold.checkShareConsistency(secret, updated));
+        assertEquals(secret, changedThreshold.reconstruct(restrict(updated, 1, 2, 3, 4, 41, 42, 43)));
+
+        // replaced leaf: only the subtree of its parent is re-shared
+        ThresholdTreeSecretSharing replacedLeaf = createSharing(3, LEAVES_PER_SUBTREE, 'B', 4);
+        updated = lsss.updateShares(shares, replacedLeaf);
+        for (int i = 1; i <= LEAVES_PER_SUBTREE; i++) {
+            assertEquals(shares.get(i), updated.get(i));
+            assertEquals(shares.get(i + 2 * LEAVES_PER_SUBTREE), updated.get(i + 2 * LEAVES_PER_SUBTREE));
+        }
+        assertNotEquals(shares.get(LEAVES_PER_SUBTREE + 5), updated.get(LEAVES_PER_SUBTREE + 5));
+        assertTrue(replacedLeaf.checkShareConsistency(secret, updated));
+
+        // added leaf: the shares of the following subtrees are shifted
+        ThresholdTreeSecretSharing addedLeaf = createSharing(3, LEAVES_PER_SUBTREE + 1, ' ', -1);
+        updated = lsss.updateShares(shares, addedLeaf);
+        assertEquals(3 * LEAVES_PER_SUBTREE + 1, updated.size());
+        assertEquals(shares.get(LEAVES_PER_SUBTREE + 1), updated.get(LEAVES_PER_SUBTREE + 2));
+        assertTrue(addedLeaf.checkShareConsistency(secret, updated));
+    }
+}
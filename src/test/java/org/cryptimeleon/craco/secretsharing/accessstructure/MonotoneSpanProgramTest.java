@@ -0,0 +1,191 @@
+package org.cryptimeleon.craco.secretsharing.accessstructure;
+
+import org.cryptimeleon.craco.common.attributes.StringAttribute;
+import org.cryptimeleon.craco.common.policies.Policy;
+import org.cryptimeleon.craco.common.policies.PolicyFact;
+import org.cryptimeleon.craco.common.policies.ThresholdPolicy;
+import org.cryptimeleon.craco.secretsharing.accessstructure.exceptions.NoSatisfyingSet;
+import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class MonotoneSpanProgramTest {
+    static long timerStart = 0;
+
+    private Zp field;
+    private StringAttribute a, b, c, d, e;
+    private MonotoneSpanProgram msp;
+
+    @Before
+    public void setup() {
+        field = new Zp(RandomGenerator.getRandomPrime(80));
+        a = new StringAttribute("A");
+        b = new StringAttribute("B");
+        c = new StringAttribute("C");
+        d = new StringAttribute("D");
+        e = new StringAttribute("E");
+        // A and (2 of B, C, D), or E
+        msp = new MonotoneSpanProgram(new ThresholdPolicy(1,
+                new ThresholdPolicy(2, a, new ThresholdPolicy(2, b, c, d)), e), field);
+    }
+
+    private Zp.ZpElement reconstruct(Map<Integer, Zp.ZpElement> shares, PolicyFact... parties) {
+        Map<Integer, Zp.ZpElement> solvingVector = msp.getSolvingVector(new HashSet<>(Arrays.asList(parties)));
+        return solvingVector.entrySet().stream()
+                .map(entry -> shares.get(entry.getKey()).mul(entry.getValue()))
+                .reduce(field.getZeroElement(), Zp.ZpElement::add);
+    }
+
+    /**
+     * Creates a two-level policy with the given number of attributes:
+     * a majority of groups, each of which requires half of its 10 attributes.
+     */
+    private static Policy createLargePolicy(int numberOfAttributes) {
+        List<Policy> groups = new ArrayList<>();
+        for (int group = 0; group * 10 < numberOfAttributes; group++) {
+            List<Policy> attributes = new ArrayList<>();
+            for (int i = group * 10; i < Math.min(numberOfAttributes, (group + 1) * 10); i++) {
+                attributes.add(new StringAttribute("A" + i));
+            }
+            groups.add(new ThresholdPolicy((attributes.size() + 1) / 2, attributes));
+        }
+        return new ThresholdPolicy(groups.size() / 2 + 1, groups);
+    }
+
+    /**
+     * Reference solver: computes v with v * M_rows = (1, 0, ..., 0) by dense Gauss-Jordan elimination on the
+     * transposed system M_rows^T * v = (1, 0, ..., 0)^T, assuming the given rows are linearly independent.
+     */
+    private Map<Integer, Zp.ZpElement> solveDense(MonotoneSpanProgram program, List<Integer> rows) {
+        int numberOfColumns = program.getMatrix().getNumberOfColumns();
+        int numberOfRows = rows.size();
+        // augmented matrix of the transposed system, one equation per column of the span program
+        Zp.ZpElement[][] system = new Zp.ZpElement[numberOfColumns][numberOfRows + 1];
+        for (int j = 0; j < numberOfRows; j++) {
+            Zp.ZpElement[] row = program.getMatrix().getDenseRow(rows.get(j));
+            for (int i = 0; i < numberOfColumns; i++) {
+                system[i][j] = row[i];
+            }
+        }
+        for (int i = 0; i < numberOfColumns; i++) {
+            system[i][numberOfRows] = i == 0 ? field.getOneElement() : field.getZeroElement();
+        }
+
+        for (int pivot = 0; pivot < numberOfRows; pivot++) {
+            int pivotRow = pivot;
+            while (system[pivotRow][pivot].isZero()) {
+                pivotRow++;
+            }
+            Zp.ZpElement[] tmp = system[pivot];
+            system[pivot] = system[pivotRow];
+            system[pivotRow] = tmp;
+
+            Zp.ZpElement inverse = system[pivot][pivot].inv();
+            for (int k = 0; k <= numberOfRows; k++) {
+                system[pivot][k] = system[pivot][k].mul(inverse);
+            }
+            for (int i = 0; i < numberOfColumns; i++) {
+                if (i != pivot && !system[i][pivot].isZero()) {
+                    Zp.ZpElement factor = system[i][pivot];
+                    for (int k = 0; k <= numberOfRows; k++) {
+                        system[i][k] = system[i][k].sub(factor.mul(system[pivot][k]));
+                    }
+                }
+            }
+        }
+
+        Map<Integer, Zp.ZpElement> result = new HashMap<>();
+        for (int j = 0; j < numberOfRows; j++) {
+            result.put(rows.get(j), system[j][numberOfRows]);
+        }
+        return result;
+    }
+
+    private void assertSparseMatchesDense(MonotoneSpanProgram program, Set<PolicyFact> parties) {
+        Map<Integer, Zp.ZpElement> sparse = program.getSolvingVector(parties);
+        assertEquals(solveDense(program, new ArrayList<>(sparse.keySet())), sparse);
+    }
+
+    @Test
+    public void testShareAndReconstruct() {
+        assertEquals(5, msp.getMatrix().getNumberOfRows());
+        assertEquals(msp.getNumberOfColumns(), msp.getMatrix().getNumberOfColumns());
+
+        Zp.ZpElement secret = field.getUniformlyRandomElement();
+        Map<Integer, Zp.ZpElement> shares = msp.getShares(secret);
+        assertEquals(5, shares.size());
+
+        assertEquals(secret, reconstruct(shares, a, b, d));
+        assertEquals(secret, reconstruct(shares, a, c, d));
+        assertEquals(secret, reconstruct(shares, e));
+        assertEquals(secret, reconstruct(shares, a, b, c, d, e));
+    }
+
+    @Test
+    public void testSparseMatchesDense() {
+        assertSparseMatchesDense(msp, new HashSet<>(Arrays.asList(a, b, c, d)));
+
+        MonotoneSpanProgram large = new MonotoneSpanProgram(createLargePolicy(100), field);
+        assertSparseMatchesDense(large, new HashSet<>(large.getShareReceiverMap().values()));
+    }
+
+    /**
+     * Compares the running time of the sparse solver with the dense reference solver for 100 to 2000 attributes,
+     * checking that both compute the same solving vector.
+     */
+    @Test
+    public void testSparseVersusDenseTiming() {
+        for (int numberOfAttributes : new int[] {100, 500, 1000, 2000}) {
+            MonotoneSpanProgram large = new MonotoneSpanProgram(createLargePolicy(numberOfAttributes), field);
+            Set<PolicyFact> parties = new HashSet<>(large.getShareReceiverMap().values());
+
+            measureTime(null);
+            Map<Integer, Zp.ZpElement> sparse = large.getSolvingVector(parties);
+            measureTime("Sparse solving vector, " + numberOfAttributes + " attributes");
+
+            measureTime(null);
+            Map<Integer, Zp.ZpElement> dense = solveDense(large, new ArrayList<>(sparse.keySet()));
+            measureTime("Dense solving vector, " + numberOfAttributes + " attributes");
+
+            assertEquals(dense, sparse);
+        }
+    }
+
+    @Test
+    public void testSubsetStrategies() {
+        Zp.ZpElement secret = field.getUniformlyRandomElement();
+        Map<Integer, Zp.ZpElement> shares = msp.getShares(secret);
+        Set<PolicyFact> parties = new HashSet<>(Arrays.asList(a, b, c, d, e));
+
+        for (MonotoneSpanProgram.SubsetStrategy strategy : MonotoneSpanProgram.SubsetStrategy.values()) {
+            // twice to hit the memoized subsets
+            for (int i = 0; i < 2; i++) {
+                Map<Integer, Zp.ZpElement> solvingVector = msp.getSolvingVector(parties, strategy);
+                assertEquals(1, solvingVector.size());
+                assertEquals(secret, solvingVector.entrySet().stream()
+                        .map(entry -> shares.get(entry.getKey()).mul(entry.getValue()))
+                        .reduce(field.getZeroElement(), Zp.ZpElement::add));
+            }
+        }
+    }
+
+    @Test(expected = NoSatisfyingSet.class)
+    public void testUnqualified() {
+        msp.getSolvingVector(new HashSet<>(Arrays.asList(a, b)));
+    }
+
+    protected static void measureTime(String str) {
+        if (timerStart == 0) {
+            timerStart = System.currentTimeMillis();
+        } else {
+            long end = System.currentTimeMillis();
+            System.out.println(str + ": " + ((end - timerStart) / 1000) + "s, " + ((end - timerStart) % 1000) + "ms");
+            timerStart = 0;
+        }
+    }
+}
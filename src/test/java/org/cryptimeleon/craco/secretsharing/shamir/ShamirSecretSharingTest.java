@@ -0,0 +1,97 @@
+package org.cryptimeleon.craco.secretsharing.shamir;
+
+import org.cryptimeleon.craco.common.attributes.StringAttribute;
+import org.cryptimeleon.craco.common.policies.Policy;
+import org.cryptimeleon.craco.common.policies.ThresholdPolicy;
+import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.structures.groups.Group;
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.debug.DebugGroup;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ShamirSecretSharingTest {
+
+    private Zp field;
+    private List<Policy> receivers;
+    private ShamirSecretSharing lsss;
+
+    @Before
+    public void setup() {
+        field = new Zp(RandomGenerator.getRandomPrime(80));
+        receivers = Arrays.asList(new StringAttribute("A"), new StringAttribute("B"), new StringAttribute("C"),
+                new StringAttribute("D"), new StringAttribute("E"));
+        lsss = new ShamirSecretSharing(new ThresholdPolicy(3, receivers), field);
+    }
+
+    private Map<Integer, Zp.ZpElement> restrict(Map<Integer, Zp.ZpElement> shares, Integer... ids) {
+        Map<Integer, Zp.ZpElement> result = new HashMap<>();
+        for (Integer id : ids) {
+            result.put(id, shares.get(id));
+        }
+        return result;
+    }
+
+    @Test
+    public void testReconstructWithSolvingVectorCache() {
+        Zp.ZpElement secret = field.getUniformlyRandomElement();
+        Map<Integer, Zp.ZpElement> shares = lsss.getShares(secret);
+
+        assertEquals(secret, lsss.reconstruct(restrict(shares, 1, 3, 5)));
+        assertEquals(secret, lsss.reconstruct(restrict(shares, 2, 3, 4, 5)));
+        assertEquals(secret, lsss.reconstruct(restrict(shares, 5, 1, 3)));
+        assertEquals(2, lsss.getSolvingVectorCacheMisses());
+        assertEquals(1, lsss.getSolvingVectorCacheHits());
+
+        Set<Policy> quorum = new HashSet<>(Arrays.asList(receivers.get(0), receivers.get(2), receivers.get(4)));
+        assertEquals(lsss.getSolvingVector(quorum),
+                new ShamirSecretSharing(new ThresholdPolicy(3, receivers), field, 0).getSolvingVector(quorum));
+    }
+
+    @Test
+    public void testBulkAndPackedSharing() {
+        List<Zp.ZpElement> secrets = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            secrets.add(field.getUniformlyRandomElement());
+        }
+
+        Map<Integer, Zp.ZpElement[]> shares = lsss.getShares(secrets);
+        for (int j = 0; j < secrets.size(); j++) {
+            Map<Integer, Zp.ZpElement> sharesOfSecret = new HashMap<>();
+            for (int i : Arrays.asList(2, 4, 5)) {
+                sharesOfSecret.put(i, shares.get(i)[j]);
+            }
+            assertEquals(secrets.get(j), lsss.reconstruct(sharesOfSecret));
+        }
+
+        // 7 secrets packed into blocks of 2 need 3 - 1 + 2 = 4 shares
+        Map<Integer, Zp.ZpElement[]> packedShares = lsss.getPackedShares(secrets, 2);
+        assertEquals(4, packedShares.get(1).length);
+        packedShares.remove(3);
+        assertEquals(secrets, lsss.reconstructPacked(packedShares, secrets.size(), 2));
+    }
+
+    @Test
+    public void testReconstructInExponent() {
+        Group group = new DebugGroup("test", field.size());
+        GroupElement generator = group.getUniformlyRandomNonNeutral();
+
+        List<Zp.ZpElement> secrets = Arrays.asList(field.getUniformlyRandomElement(), field.getUniformlyRandomElement());
+        List<Map<Integer, GroupElement>> sharesInExponent = new ArrayList<>();
+        for (Zp.ZpElement secret : secrets) {
+            Map<Integer, GroupElement> shares = new HashMap<>();
+            restrict(lsss.getShares(secret), 1, 2, 4).forEach((i, share) -> shares.put(i, generator.pow(share)));
+            sharesInExponent.add(shares);
+        }
+
+        assertEquals(generator.pow(secrets.get(0)), lsss.reconstructInExponent(sharesInExponent.get(0)));
+        List<GroupElement> reconstructed = lsss.reconstructInExponent(sharesInExponent);
+        assertEquals(generator.pow(secrets.get(0)), reconstructed.get(0));
+        assertEquals(generator.pow(secrets.get(1)), reconstructed.get(1));
+    }
+}
@@ -0,0 +1,58 @@
+package org.cryptimeleon.craco.secretsharing.vss;
+
+import org.cryptimeleon.craco.common.attributes.StringAttribute;
+import org.cryptimeleon.craco.common.policies.ThresholdPolicy;
+import org.cryptimeleon.craco.secretsharing.shamir.ShamirSecretSharing;
+import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.structures.groups.Group;
+import org.cryptimeleon.math.structures.groups.debug.DebugGroup;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ShamirVerifiableSecretSharingTest {
+
+    private void testVss(boolean pedersen) {
+        Group group = new DebugGroup("test", RandomGenerator.getRandomPrime(80));
+        Zp field = new Zp(group.size());
+        ShamirSecretSharing lsss = new ShamirSecretSharing(new ThresholdPolicy(3, new StringAttribute("A"),
+                new StringAttribute("B"), new StringAttribute("C"), new StringAttribute("D"),
+                new StringAttribute("E")), field);
+        ShamirVerifiableSecretSharing vss = pedersen
+                ? new ShamirVerifiableSecretSharing(lsss, group.getUniformlyRandomNonNeutral(),
+                group.getUniformlyRandomNonNeutral())
+                : new ShamirVerifiableSecretSharing(lsss, group.getUniformlyRandomNonNeutral());
+
+        List<Zp.ZpElement> secrets = Arrays.asList(field.getUniformlyRandomElement(),
+                field.getUniformlyRandomElement(), field.getUniformlyRandomElement());
+        VssDealing dealing = vss.deal(secrets);
+
+        assertTrue(vss.verifyShares(dealing.getCommitments(), dealing.getShares(), dealing.getBlindingShares()));
+        assertTrue(vss.verifyShare(dealing.getCommitments(), 2, dealing.getShares().get(2),
+                pedersen ? dealing.getBlindingShares().get(2) : null));
+
+        Map<Integer, Zp.ZpElement> sharesOfSecond = new HashMap<>();
+        for (int i : Arrays.asList(1, 3, 5)) {
+            sharesOfSecond.put(i, dealing.getShares().get(i)[1]);
+        }
+        assertEquals(secrets.get(1), lsss.reconstruct(sharesOfSecond));
+
+        dealing.getShares().get(4)[2] = field.getUniformlyRandomElement();
+        assertFalse(vss.verifyShares(dealing.getCommitments(), dealing.getShares(), dealing.getBlindingShares()));
+        assertEquals(Collections.singletonList(4), vss.findInvalidShares(dealing.getCommitments(),
+                dealing.getShares(), dealing.getBlindingShares()));
+    }
+
+    @Test
+    public void testFeldman() {
+        testVss(false);
+    }
+
+    @Test
+    public void testPedersen() {
+        testVss(true);
+    }
+}
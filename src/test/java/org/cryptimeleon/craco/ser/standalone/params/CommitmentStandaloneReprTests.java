@@ -2,6 +2,7 @@ package org.cryptimeleon.craco.ser.standalone.params;
 
 import org.cryptimeleon.craco.commitment.hashthencommit.HashThenCommitCommitmentScheme;
 import org.cryptimeleon.craco.commitment.pedersen.PedersenCommitmentScheme;
+import org.cryptimeleon.craco.commitment.pedersen.SeededPedersenCommitmentScheme;
 import org.cryptimeleon.craco.sig.sps.akot15.AKOT15SharedPublicParameters;
 import org.cryptimeleon.craco.sig.sps.akot15.AKOT15SharedPublicParametersGen;
 import org.cryptimeleon.craco.sig.sps.akot15.tc.TCAKOT15CommitmentScheme;
@@ -14,6 +15,8 @@ import org.cryptimeleon.craco.sig.sps.akot15.xsig.SPSXSIGPublicParameters;
 import org.cryptimeleon.craco.sig.sps.akot15.xsig.SPSXSIGPublicParametersGen;
 import org.cryptimeleon.math.serialization.standalone.StandaloneReprSubTest;
 import org.cryptimeleon.math.hash.impl.SHA256HashFunction;
+import org.cryptimeleon.math.structures.groups.debug.DebugBilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 
 import java.math.BigInteger;
@@ -27,6 +30,12 @@ public class CommitmentStandaloneReprTests extends StandaloneReprSubTest {
         test(pedersen);
     }
 
+    public void testSeededPedersen() {
+        BilinearGroup bilinearGroup = new DebugBilinearGroup(BilinearGroup.Type.TYPE_3);
+        test(new SeededPedersenCommitmentScheme(bilinearGroup.getG1(), bilinearGroup.getHashIntoG1(),
+                new byte[] {4, 2}, NUMBER_OF_MESSAGES));
+    }
+
     public void testTCGAKOT15() {
         AKOT15SharedPublicParameters pp = AKOT15SharedPublicParametersGen.generateParameters(
                 128, 20, true);
@@ -0,0 +1,155 @@
+package org.cryptimeleon.craco.sig.sps;
+
+import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.debug.DebugBilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
+import org.cryptimeleon.math.structures.rings.zn.Zn;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class PairingProductTest {
+
+    private BilinearGroup group;
+    private BilinearMap e;
+    private Zn zn;
+
+    @Before
+    public void setup() {
+        group = new DebugBilinearGroup(BilinearGroup.Type.TYPE_3);
+        e = group.getBilinearMap();
+        zn = group.getZn();
+    }
+
+    private GroupElement randomG1() {
+        return group.getG1().getUniformlyRandomNonNeutral().compute();
+    }
+
+    private GroupElement randomG2() {
+        return group.getG2().getUniformlyRandomNonNeutral().compute();
+    }
+
+    /**
+     * Returns the product e(a^x, b) * e(a, b^x)^{-1}, which is 1 for every x.
+     */
+    private PairingProduct equation(GroupElement a, GroupElement b, Zn.ZnElement x) {
+        return new PairingProduct(e).multiply(a.pow(x), b).divide(a, b.pow(x));
+    }
+
+    @Test
+    public void testMergeBySecondArgument() {
+        GroupElement a1 = randomG1(), a2 = randomG1(), a3 = randomG1();
+        GroupElement b = randomG2(), c = randomG2();
+        Zn.ZnElement x = zn.getUniformlyRandomElement();
+
+        PairingProduct product = new PairingProduct(e)
+                .multiply(a1, b)
+                .multiply(a2, c)
+                .divide(a3, b)
+                .multiply(a2, b, x);
+
+        assertEquals(2, product.getNumberOfPairings());
+        GroupElement expected = e.apply(a1, b).op(e.apply(a2, c)).op(e.apply(a3, b).inv()).op(e.apply(a2, b).pow(x));
+        assertEquals(expected.compute(), product.evaluate());
+    }
+
+    @Test
+    public void testMergeByFirstArgument() {
+        GroupElement a = randomG1(), a2 = randomG1();
+        GroupElement b1 = randomG2(), b2 = randomG2();
+        Zn.ZnElement x = zn.getUniformlyRandomElement();
+
+        PairingProduct product = new PairingProduct(e)
+                .multiplyGroupedByFirst(a, b1)
+                .multiplyGroupedByFirst(a2, b1)
+                .multiplyGroupedByFirst(a, b2, x);
+        assertEquals(2, product.getNumberOfPairings());
+
+        // factors grouped by the first and by the second argument are counted separately
+        product.multiply(a, b1);
+        assertEquals(3, product.getNumberOfPairings());
+
+        GroupElement expected = e.apply(a, b1).op(e.apply(a2, b1)).op(e.apply(a, b2).pow(x)).op(e.apply(a, b1));
+        assertEquals(expected.compute(), product.evaluate());
+    }
+
+    @Test
+    public void testTargetExponents() {
+        GroupElement t = e.apply(randomG1(), randomG2()).compute();
+        GroupElement u = e.apply(randomG1(), randomG2()).compute();
+        GroupElement a = randomG1();
+        GroupElement b = randomG2();
+        Zn.ZnElement x = zn.getUniformlyRandomElement();
+
+        // exponent 0: cancels out
+        assertTrue(new PairingProduct(e).multiplyTarget(t).divideTarget(t).isOne());
+        // exponent 1 and -1
+        assertEquals(t, new PairingProduct(e).multiplyTarget(t).evaluate());
+        assertEquals(t.inv().compute(), new PairingProduct(e).divideTarget(t).evaluate());
+
+        // accumulated exponents, combined with a pairing
+        PairingProduct product = new PairingProduct(e)
+                .multiply(a, b)
+                .multiplyTarget(t)
+                .multiplyTarget(t, x)
+                .divideTarget(u)
+                .multiplyTarget(u, zn.valueOf(3));
+        assertEquals(1, product.getNumberOfPairings());
+        GroupElement expected = e.apply(a, b).op(t.pow(x.add(zn.getOneElement()))).op(u.pow(zn.valueOf(2)));
+        assertEquals(expected.compute(), product.evaluate());
+
+        // a scaled product also scales its target exponents
+        PairingProduct scaled = new PairingProduct(e).multiply(product, x);
+        assertEquals(expected.pow(x).compute(), scaled.evaluate());
+    }
+
+    @Test
+    public void testCombineRandomized() {
+        GroupElement a = randomG1(), a2 = randomG1();
+        GroupElement b = randomG2();
+        Zn.ZnElement x = zn.getUniformlyRandomElement();
+        Zn.ZnElement y = zn.getUniformlyRandomElement();
+
+        PairingProduct combined = PairingProduct.combineRandomized(
+                Arrays.asList(equation(a, b, x), equation(a2, b, y), equation(a, b, y)));
+        assertTrue(combined.isOne());
+        // the pairings with b of all three equations are merged, as are the two with b^y
+        assertEquals(3, combined.getNumberOfPairings());
+
+        assertTrue(PairingProduct.allOne(Arrays.asList(equation(a, b, x), equation(a2, b, y))));
+        assertTrue(PairingProduct.allOne(Collections.emptyList()));
+        assertFalse(PairingProduct.allOne(null));
+    }
+
+    @Test
+    public void testCombineRandomizedDetectsWrongFactor() {
+        GroupElement a = randomG1(), a2 = randomG1();
+        GroupElement b = randomG2(), c = randomG2();
+        Zn.ZnElement x = zn.getUniformlyRandomElement();
+
+        // a single wrong factor in any of the equations must be detected
+        for (int wrong = 0; wrong < 3; wrong++) {
+            ArrayList<PairingProduct> equations = new ArrayList<>(Arrays.asList(
+                    equation(a, b, x), equation(a2, c, x), equation(a2, b, x)));
+            equations.get(wrong).multiply(a, c);
+            assertFalse(PairingProduct.allOne(equations));
+        }
+
+        // two wrong factors that cancel out without randomization
+        PairingProduct first = equation(a, b, x).multiply(a, c);
+        PairingProduct second = equation(a2, b, x).divide(a, c);
+        assertTrue(new PairingProduct(e).multiply(first).multiply(second).isOne());
+        assertFalse(PairingProduct.allOne(Arrays.asList(first, second)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCombineRandomizedEmpty() {
+        PairingProduct.combineRandomized(Collections.emptyList());
+    }
+}
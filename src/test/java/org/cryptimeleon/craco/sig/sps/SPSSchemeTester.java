@@ -1,13 +1,19 @@
 package org.cryptimeleon.craco.sig.sps;
 
+import org.cryptimeleon.craco.common.plaintexts.PlainText;
 import org.cryptimeleon.craco.sig.*;
 import org.junit.Before;
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Generic implementation of SPS scheme tests.
+ * The batch verification tests expect the scheme to implement {@link SPSPairingProductVerifier}.
  * */
 public abstract class SPSSchemeTester {
 
@@ -79,6 +85,40 @@ public abstract class SPSSchemeTester {
         );
     }
 
+    @Test
+    public void testBatchVerify() {
+        SPSPairingProductVerifier scheme = (SPSPairingProductVerifier) params.getSignatureScheme();
+        VerificationKey vk = params.getKeyPair1().getVerificationKey();
+        SigningKey sk = params.getKeyPair1().getSigningKey();
+        List<PlainText> messages = Arrays.asList(params.getMessage1(), params.getMessage2());
+
+        Signature sigma1 = scheme.sign(params.getMessage1(), sk);
+        Signature sigma2 = scheme.sign(params.getMessage2(), sk);
+
+        assertTrue(scheme.batchVerify(messages, Arrays.asList(sigma1, sigma2), vk));
+        // signatures on the wrong messages
+        assertFalse(scheme.batchVerify(messages, Arrays.asList(sigma2, sigma1), vk));
+        // a single tampered signature among valid ones
+        assertFalse(scheme.batchVerify(messages, Arrays.asList(sigma1, sigma1), vk));
+        // wrong verification key
+        assertFalse(scheme.batchVerify(messages, Arrays.asList(sigma1, sigma2),
+                params.getKeyPair2().getVerificationKey()));
+    }
+
+    @Test
+    public void testBatchVerifyDifferentKeys() {
+        SPSPairingProductVerifier scheme = (SPSPairingProductVerifier) params.getSignatureScheme();
+        VerificationKey vk1 = params.getKeyPair1().getVerificationKey();
+        VerificationKey vk2 = params.getKeyPair2().getVerificationKey();
+        List<PlainText> messages = Arrays.asList(params.getMessage1(), params.getMessage2());
+
+        Signature sigma1 = scheme.sign(params.getMessage1(), params.getKeyPair1().getSigningKey());
+        Signature sigma2 = scheme.sign(params.getMessage2(), params.getKeyPair2().getSigningKey());
+
+        assertTrue(scheme.batchVerify(messages, Arrays.asList(sigma1, sigma2), Arrays.asList(vk1, vk2)));
+        assertFalse(scheme.batchVerify(messages, Arrays.asList(sigma1, sigma2), Arrays.asList(vk2, vk1)));
+    }
+
     @Test
     public abstract void testPublicParameterRepresentation();
 
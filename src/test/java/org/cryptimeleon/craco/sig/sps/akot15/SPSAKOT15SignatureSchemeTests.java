@@ -1,9 +1,18 @@
 package org.cryptimeleon.craco.sig.sps.akot15;
 
+import org.cryptimeleon.craco.commitment.CommitmentPair;
 import org.cryptimeleon.craco.sig.SignatureSchemeParams;
+import org.cryptimeleon.craco.sig.VerificationKey;
 import org.cryptimeleon.craco.sig.sps.SPSSchemeTester;
+import org.cryptimeleon.craco.sig.sps.akot15.fsp2.SPSFSP2Signature;
+import org.cryptimeleon.craco.sig.sps.akot15.fsp2.SPSFSP2SignatureScheme;
+import org.cryptimeleon.craco.sig.sps.akot15.pos.SPSPOSSignature;
+import org.cryptimeleon.craco.sig.sps.akot15.tc.TCAKOT15OpenValue;
+import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class SPSAKOT15SignatureSchemeTests extends SPSSchemeTester {
 
@@ -20,4 +29,47 @@ public class SPSAKOT15SignatureSchemeTests extends SPSSchemeTester {
         assertEquals(params.getPublicParameters(), ppTest);
     }
 
+    @Test
+    public void testTamperedPOSSignature() {
+        SPSFSP2SignatureScheme scheme = (SPSFSP2SignatureScheme) params.getSignatureScheme();
+        AKOT15SharedPublicParameters pp = (AKOT15SharedPublicParameters) params.getPublicParameters();
+        VerificationKey vk = params.getKeyPair1().getVerificationKey();
+
+        SPSFSP2Signature sigma = (SPSFSP2Signature) scheme.sign(params.getMessage1(), params.getKeyPair1().getSigningKey());
+        assertTrue(scheme.verify(params.getMessage1(), sigma, vk));
+
+        CommitmentPair commitmentPair = sigma.getCommitmentPairTC();
+        TCAKOT15OpenValue open = (TCAKOT15OpenValue) commitmentPair.getOpenValue();
+
+        // POS signature on the last message element with a modified Z
+        SPSPOSSignature[] posSignatures = open.getSpsPosSignatures().clone();
+        SPSPOSSignature last = posSignatures[posSignatures.length - 1];
+        posSignatures[posSignatures.length - 1] = new SPSPOSSignature(
+                last.getGroup2ElementZ().op(pp.getG2GroupGenerator()).compute(), last.getGroup2ElementR());
+        TCAKOT15OpenValue tamperedOpen = new TCAKOT15OpenValue(open.getGroup1ElementGamma(),
+                open.getSpsPosVerificationKey(), open.getSpsPosOTVerificationKeys(), posSignatures);
+
+        SPSFSP2Signature tampered = new SPSFSP2Signature(sigma.getSigmaXSIG(),
+                new CommitmentPair(commitmentPair.getCommitment(), tamperedOpen));
+        assertFalse(scheme.verify(params.getMessage1(), tampered, vk));
+    }
+
+    @Test
+    public void testTamperedCommitment() {
+        SPSFSP2SignatureScheme scheme = (SPSFSP2SignatureScheme) params.getSignatureScheme();
+        VerificationKey vk = params.getKeyPair1().getVerificationKey();
+
+        SPSFSP2Signature sigma1 = (SPSFSP2Signature) scheme.sign(params.getMessage1(), params.getKeyPair1().getSigningKey());
+        SPSFSP2Signature sigma2 = (SPSFSP2Signature) scheme.sign(params.getMessage2(), params.getKeyPair1().getSigningKey());
+
+        // valid commitment and opening for the message, but the XSIG signature is on another commitment
+        SPSFSP2Signature wrongXSIG = new SPSFSP2Signature(sigma2.getSigmaXSIG(), sigma1.getCommitmentPairTC());
+        assertFalse(scheme.verify(params.getMessage1(), wrongXSIG, vk));
+
+        // valid XSIG signature on the commitment, but the opening belongs to another commitment
+        SPSFSP2Signature wrongOpening = new SPSFSP2Signature(sigma1.getSigmaXSIG(), new CommitmentPair(
+                sigma1.getCommitmentPairTC().getCommitment(), sigma2.getCommitmentPairTC().getOpenValue()));
+        assertFalse(scheme.verify(params.getMessage1(), wrongOpening, vk));
+    }
+
 }
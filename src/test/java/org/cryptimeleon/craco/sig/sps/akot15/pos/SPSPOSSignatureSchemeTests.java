@@ -51,6 +51,43 @@ public class SPSPOSSignatureSchemeTests extends SPSSchemeTester {
         assertTrue(scheme.verify(params.getMessage1(), sigma, params.getKeyPair1().getVerificationKey(), fixedPublicKey));
     }
 
+    @Test
+    public void testSignatureAndVerifyWithOneTimeKeyPool() {
+
+        SPSPOSSignatureScheme scheme = (SPSPOSSignatureScheme) params.getSignatureScheme();
+        SignatureKeyPair<SPSPOSVerificationKey, SPSPOSSigningKey> keyPair =
+                (SignatureKeyPair<SPSPOSVerificationKey, SPSPOSSigningKey>) params.getKeyPair1();
+
+        try (SPSPOSOneTimeKeyPool pool = new SPSPOSOneTimeKeyPool(scheme.getPublicParameters(), 2, 1)) {
+            scheme.setOneTimeKeyPool(pool);
+            assertEquals(2, pool.getDepth());
+
+            for (int i = 0; i < 5; i++) {
+                scheme.updateOneTimeKey(keyPair);
+                SPSPOSSignature sigma = scheme.sign(params.getMessage1(), keyPair.getSigningKey());
+                assertTrue(scheme.verify(params.getMessage1(), sigma, keyPair.getVerificationKey()));
+            }
+
+            assertEquals(5, pool.getKeysTaken());
+            assertTrue(pool.getKeysGenerated() >= 5);
+            assertTrue(pool.getAvailable() <= pool.getDepth());
+        } finally {
+            scheme.setOneTimeKeyPool(null);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOneTimeKeyPoolForOtherParameters() {
+        SPSPOSSignatureScheme scheme = (SPSPOSSignatureScheme) params.getSignatureScheme();
+        SPSPOSSignatureScheme otherScheme = (SPSPOSSignatureScheme)
+                SPSPOSSignatureSchemeTestParamGenerator.generateParameters(SECURITY_PARAMETER, NUM_MESSAGES)
+                        .getSignatureScheme();
+
+        try (SPSPOSOneTimeKeyPool pool = new SPSPOSOneTimeKeyPool(otherScheme.getPublicParameters(), 1, 1)) {
+            scheme.setOneTimeKeyPool(pool);
+        }
+    }
+
 
     @Override
     public void testNegativeSignatureAndVerify() {
@@ -1,6 +1,7 @@
 package org.cryptimeleon.craco.sig.sps.akot15.tc;
 
 import org.cryptimeleon.craco.commitment.CommitmentPair;
+import org.cryptimeleon.craco.commitment.CommitmentScheme;
 import org.cryptimeleon.craco.commitment.CommitmentSchemeTester;
 import org.cryptimeleon.craco.sig.sps.akot15.AKOT15SharedPublicParameters;
 import org.cryptimeleon.craco.sig.sps.akot15.tcgamma.TCGAKOT15Commitment;
@@ -12,6 +13,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class TCAKOT15CommitmentSchemeTester {
 
@@ -32,6 +35,19 @@ public class TCAKOT15CommitmentSchemeTester {
         CommitmentSchemeTester.testCommitmentSchemeVerify(params.getScheme(), params.getPlainText());
     }
 
+    @Test
+    public void testVerifyEarlierCommitment() {
+        // every commitment uses fresh POS one-time keys, so an opening must be verified with the keys it contains
+        CommitmentScheme scheme = params.getScheme();
+        CommitmentPair first = scheme.commit(params.getPlainText());
+        CommitmentPair second = scheme.commit(params.getWrongPlainText());
+
+        assertTrue(scheme.verify(first.getCommitment(), first.getOpenValue(), params.getPlainText()));
+        assertTrue(scheme.verify(second.getCommitment(), second.getOpenValue(), params.getWrongPlainText()));
+        assertFalse(scheme.verify(first.getCommitment(), first.getOpenValue(), params.getWrongPlainText()));
+        assertFalse(scheme.verify(first.getCommitment(), second.getOpenValue(), params.getPlainText()));
+    }
+
     @Test
     public void testCommitmentSchemeRepresentationText() {
 
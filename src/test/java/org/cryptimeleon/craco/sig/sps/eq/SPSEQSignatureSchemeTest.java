@@ -8,9 +8,13 @@ import org.cryptimeleon.math.structures.rings.zn.Zp;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -78,6 +82,49 @@ public class SPSEQSignatureSchemeTest {
         }
     }
 
+    @Test
+    public void testSPSEQSignatureSchemeChgRepBatch() {
+        Signature sigma = spseqScheme.sign(messageBlock, keyPair.getSigningKey());
+
+        List<SPSEQRepresentative> representatives =
+                spseqScheme.chgRepBatchWithVerify(messageBlock, sigma, 3, keyPair.getVerificationKey());
+        assertEquals(3, representatives.size());
+        for (SPSEQRepresentative representative : representatives) {
+            assertEquals(spseqScheme.chgRepMessage(messageBlock, representative.getMu()),
+                    representative.getMessage());
+            assertTrue(spseqScheme.verify(representative.getMessage(), representative.getSignature(),
+                    keyPair.getVerificationKey()));
+        }
+        assertNull(spseqScheme.chgRepBatchWithVerify(wrongMessageBlock, sigma, 3, keyPair.getVerificationKey()));
+    }
+
+    @Test
+    public void testBatchVerify() {
+        Signature sigma1 = spseqScheme.sign(messageBlock, keyPair.getSigningKey());
+        Signature sigma2 = spseqScheme.sign(wrongMessageBlock, keyPair.getSigningKey());
+
+        assertTrue(spseqScheme.batchVerify(Arrays.asList(messageBlock, wrongMessageBlock),
+                Arrays.asList(sigma1, sigma2), keyPair.getVerificationKey()));
+        assertFalse(spseqScheme.batchVerify(Arrays.asList(messageBlock, wrongMessageBlock),
+                Arrays.asList(sigma2, sigma1), keyPair.getVerificationKey()));
+        assertFalse(spseqScheme.batchVerify(Arrays.asList(messageBlock, wrongMessageBlock),
+                Arrays.asList(sigma1, sigma2), wrongKeyPair.getVerificationKey()));
+    }
+
+    @Test
+    public void testBatchVerifyNeutralY() {
+        SPSEQSignature sigma1 = (SPSEQSignature) spseqScheme.sign(messageBlock, keyPair.getSigningKey());
+        SPSEQSignature sigma2 = (SPSEQSignature) spseqScheme.sign(wrongMessageBlock, keyPair.getSigningKey());
+        SPSEQSignature neutralY = new SPSEQSignature(sigma2.getGroup1ElementSigma1Z(),
+                sigma2.getGroup1ElementSigma2Y().getStructure().getNeutralElement(),
+                sigma2.getGroup2ElementSigma3HatY());
+
+        // such a signature has no verification equations, and a batch containing it must be rejected
+        assertNull(spseqScheme.getVerificationEquations(wrongMessageBlock, neutralY, keyPair.getVerificationKey()));
+        assertFalse(spseqScheme.batchVerify(Arrays.asList(messageBlock, wrongMessageBlock),
+                Arrays.asList(sigma1, neutralY), keyPair.getVerificationKey()));
+    }
+
     @Test
     public void testSPSEQSignatureSchemeRepresentationText() {
         // Test standard signature scheme representations
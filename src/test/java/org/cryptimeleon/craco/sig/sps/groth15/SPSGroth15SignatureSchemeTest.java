@@ -4,13 +4,20 @@ import org.cryptimeleon.craco.common.plaintexts.MessageBlock;
 import org.cryptimeleon.craco.sig.*;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
- * JUnit test for the Groth15 SPS scheme
+ * JUnit test for the Groth15 SPS scheme, run once for each {@link SPSGroth15PublicParametersGen.Groth15Type}
  */
-
+@RunWith(value = Parameterized.class)
 public class SPSGroth15SignatureSchemeTest {
     static long timerStart = 0;
     static int testIterations = 1;
@@ -24,6 +31,17 @@ public class SPSGroth15SignatureSchemeTest {
     private MessageBlock messageBlock;
     private MessageBlock wrongMessageBlock;
 
+    private final SPSGroth15PublicParametersGen.Groth15Type type;
+
+    public SPSGroth15SignatureSchemeTest(SPSGroth15PublicParametersGen.Groth15Type type) {
+        this.type = type;
+    }
+
+    @Parameterized.Parameters(name = "{index}: {0}")
+    public static Collection<SPSGroth15PublicParametersGen.Groth15Type> data() {
+        return Arrays.asList(SPSGroth15PublicParametersGen.Groth15Type.values());
+    }
+
     protected static void measureTime(String str) {
         if (timerStart == 0) {
             timerStart = System.currentTimeMillis();
@@ -36,18 +54,14 @@ public class SPSGroth15SignatureSchemeTest {
 
     @Before
     public void setUp() throws Exception {
-        for (SPSGroth15PublicParametersGen.Groth15Type type : SPSGroth15PublicParametersGen.Groth15Type.values()) {
-            for (int i = 0; i < 1; i++) {
-                SignatureSchemeParams params =
-                        SPSGroth15SignatureSchemeTestParamGenerator.generateParams(SECURITY_PARAMETER, type, NUM_MESSAGES);
-                this.scheme = (SPSGroth15SignatureScheme) params.getSignatureScheme();
-                this.keyPair = params.getKeyPair1();
-                this.wrongKeyPair = params.getKeyPair2();
-                this.pp = (SPSGroth15PublicParameters) params.getPublicParameters();
-                this.messageBlock = (MessageBlock) params.getMessage1();
-                this.wrongMessageBlock = (MessageBlock) params.getMessage2();
-            }
-        }
+        SignatureSchemeParams params =
+                SPSGroth15SignatureSchemeTestParamGenerator.generateParams(SECURITY_PARAMETER, type, NUM_MESSAGES);
+        this.scheme = (SPSGroth15SignatureScheme) params.getSignatureScheme();
+        this.keyPair = params.getKeyPair1();
+        this.wrongKeyPair = params.getKeyPair2();
+        this.pp = (SPSGroth15PublicParameters) params.getPublicParameters();
+        this.messageBlock = (MessageBlock) params.getMessage1();
+        this.wrongMessageBlock = (MessageBlock) params.getMessage2();
     }
 
     @Test
@@ -59,6 +73,43 @@ public class SPSGroth15SignatureSchemeTest {
         }
     }
 
+    @Test
+    public void testSPSGroth15SignatureSchemeWrongMessage() {
+        SignatureSchemeTester.testNegativeWrongMessageSignatureSchemeSignAndVerify(scheme, messageBlock,
+                wrongMessageBlock, keyPair.getVerificationKey(), keyPair.getSigningKey());
+    }
+
+    @Test
+    public void testSPSGroth15SignatureSchemeWrongKeys() {
+        SignatureSchemeTester.testNegativeWrongKeysSignatureSchemeSignAndVerify(scheme, messageBlock,
+                keyPair.getVerificationKey(), keyPair.getSigningKey(),
+                wrongKeyPair.getVerificationKey(), wrongKeyPair.getSigningKey());
+    }
+
+    @Test
+    public void testBatchVerify() {
+        Signature sigma1 = scheme.sign(messageBlock, keyPair.getSigningKey());
+        Signature sigma2 = scheme.sign(wrongMessageBlock, keyPair.getSigningKey());
+
+        assertTrue(scheme.batchVerify(Arrays.asList(messageBlock, wrongMessageBlock),
+                Arrays.asList(sigma1, sigma2), keyPair.getVerificationKey()));
+        assertFalse(scheme.batchVerify(Arrays.asList(messageBlock, wrongMessageBlock),
+                Arrays.asList(sigma2, sigma1), keyPair.getVerificationKey()));
+        assertFalse(scheme.batchVerify(Arrays.asList(messageBlock, wrongMessageBlock),
+                Arrays.asList(sigma1, sigma2), wrongKeyPair.getVerificationKey()));
+    }
+
+    @Test
+    public void testBatchVerifyDifferentKeys() {
+        Signature sigma1 = scheme.sign(messageBlock, keyPair.getSigningKey());
+        Signature sigma2 = scheme.sign(wrongMessageBlock, wrongKeyPair.getSigningKey());
+
+        assertTrue(scheme.batchVerify(Arrays.asList(messageBlock, wrongMessageBlock), Arrays.asList(sigma1, sigma2),
+                Arrays.asList(keyPair.getVerificationKey(), wrongKeyPair.getVerificationKey())));
+        assertFalse(scheme.batchVerify(Arrays.asList(messageBlock, wrongMessageBlock), Arrays.asList(sigma1, sigma2),
+                Arrays.asList(wrongKeyPair.getVerificationKey(), keyPair.getVerificationKey())));
+    }
+
     @Test
     public void testSPSGroth15SignatureSchemeRepresentationText() {
         // Test standard signature scheme representations
@@ -0,0 +1,22 @@
+package org.cryptimeleon.craco.sig.sps.kpw15;
+
+import org.cryptimeleon.craco.sig.SignatureSchemeParams;
+import org.cryptimeleon.craco.sig.sps.SPSSchemeTester;
+
+import static org.junit.Assert.assertEquals;
+
+public class SPSKPW15SignatureSchemeTest extends SPSSchemeTester {
+
+    @Override
+    protected SignatureSchemeParams generateParameters() {
+        return SPSKPW15SignatureSchemeTestParamGenerator.generateParams(SECURITY_PARAMETER, NUM_MESSAGES);
+    }
+
+    @Override
+    public void testPublicParameterRepresentation() {
+        SPSKPW15PublicParameters ppTest = new SPSKPW15PublicParameters(
+                params.getPublicParameters().getRepresentation());
+
+        assertEquals(params.getPublicParameters(), ppTest);
+    }
+}
@@ -0,0 +1,43 @@
+package org.cryptimeleon.craco.sig.sps.kpw15;
+
+import org.cryptimeleon.craco.common.plaintexts.GroupElementPlainText;
+import org.cryptimeleon.craco.common.plaintexts.MessageBlock;
+import org.cryptimeleon.craco.sig.SignatureKeyPair;
+import org.cryptimeleon.craco.sig.SignatureSchemeParams;
+
+/**
+ * Generates an instance of the {@link SignatureSchemeParams} for the {@link SPSKPW15SignatureScheme}.
+ */
+public class SPSKPW15SignatureSchemeTestParamGenerator {
+
+    public static SignatureSchemeParams generateParams(int securityParameter, int numberOfMessages) {
+        // setup scheme
+        SPSKPW15PublicParameters pp = new SPSKPW15PublicParameterGen()
+                .generatePublicParameter(securityParameter, true, numberOfMessages);
+        SPSKPW15SignatureScheme scheme = new SPSKPW15SignatureScheme(pp);
+
+        // generate two different key pairs to test
+        SignatureKeyPair<? extends SPSKPW15VerificationKey, ? extends SPSKPW15SigningKey> keyPair =
+                scheme.generateKeyPair(numberOfMessages);
+        SignatureKeyPair<? extends SPSKPW15VerificationKey, ? extends SPSKPW15SigningKey> wrongKeyPair;
+        do {
+            wrongKeyPair = scheme.generateKeyPair(numberOfMessages);
+        } while (wrongKeyPair.getVerificationKey().equals(keyPair.getVerificationKey())
+                || wrongKeyPair.getSigningKey().equals(keyPair.getSigningKey()));
+
+        // generate two different message blocks to test
+        GroupElementPlainText[] messages = new GroupElementPlainText[numberOfMessages];
+        GroupElementPlainText[] wrongMessages = new GroupElementPlainText[numberOfMessages];
+        for (int i = 0; i < numberOfMessages; i++) {
+            messages[i] = new GroupElementPlainText(
+                    pp.getG1GroupGenerator().getStructure().getUniformlyRandomElement());
+            do {
+                wrongMessages[i] = new GroupElementPlainText(
+                        pp.getG1GroupGenerator().getStructure().getUniformlyRandomElement());
+            } while (wrongMessages[i].equals(messages[i]));
+        }
+
+        return new SignatureSchemeParams(scheme, pp, new MessageBlock(messages), new MessageBlock(wrongMessages),
+                keyPair, wrongKeyPair);
+    }
+}